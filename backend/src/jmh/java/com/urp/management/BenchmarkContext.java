@@ -0,0 +1,42 @@
+package com.urp.management;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Starts the application without a web server against the given database, so benchmarks run
+ * the real repositories, mappings and Hibernate settings. SQL logging is off and audit
+ * retention is pushed out far enough that generated history is never purged mid-run.
+ */
+public final class BenchmarkContext {
+    
+    private BenchmarkContext() {
+    }
+    
+    public static ConfigurableApplicationContext start(String jdbcUrl, String username, String password,
+                                                       String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "spring.main.banner-mode=off",
+                "logging.level.root=warn",
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "spring.datasource.url=" + jdbcUrl,
+                "spring.datasource.username=" + username,
+                "spring.datasource.password=" + password,
+                "app.audit.retention-days=36500"));
+        if (jdbcUrl.startsWith("jdbc:postgresql:")) {
+            all.add("spring.datasource.driver-class-name=org.postgresql.Driver");
+            all.add("spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect");
+        }
+        all.addAll(Arrays.asList(properties));
+        // As arguments, so they win over application.yml
+        return new SpringApplicationBuilder(UrpManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(all.stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+}
@@ -0,0 +1,178 @@
+package com.urp.management.audit;
+
+import com.urp.management.BenchmarkContext;
+import com.urp.management.domain.entity.User;
+import com.urp.management.domain.enums.UserStatus;
+import com.urp.management.repository.IdAllocator;
+import com.urp.management.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills {@code audit_logs} with a synthetic history for the search benchmarks: {@value #ACTORS}
+ * actors, about half the rows logins and the rest spread over the other actions, targets drawn
+ * from {@value #TARGETS} ids per type and timestamps spread over the last {@value #DAYS} days.
+ * The same seed gives the same data. Only the missing rows are added, so an existing dataset
+ * is topped up rather than rebuilt; the secondary indexes not tied to a foreign key are dropped
+ * for the load and built again afterwards.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.urp.management.audit.AuditDatasetGenerator
+ * -Djmh.args="10000000 jdbc:postgresql://localhost/urp urp secret"}
+ */
+@Slf4j
+public final class AuditDatasetGenerator {
+    
+    public static final String ACTOR_EMAIL_PREFIX = "bench-actor-";
+    public static final int ACTORS = 1000;
+    public static final int TARGETS = 100_000;
+    public static final int DAYS = 60;
+    
+    /** Every action but USER_LOGIN, which alone makes up about half the rows */
+    public static final List<String> ACTIONS = List.of(
+            "USER_CREATED", "USER_STATUS_UPDATED", "USER_PROFILE_UPDATED", "USER_PASSWORD_UPDATED",
+            "USER_BANNED", "USER_LOGOUT", "ROLE_ASSIGNED", "ROLE_REMOVED", "ROLE_UPDATED",
+            "TENANT_UPDATED", "GROUP_MEMBER_REMOVED", "GROUP_ROLE_ASSIGNED");
+    
+    private static final String INSERT_SQL = "INSERT INTO audit_logs " +
+            "(id, tenant_id, actor_user_id, action, target_type, target_id, ip_address, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    // Maintaining these row by row makes a large load many times slower than building them after it
+    private static final List<String> INDEXES = List.of(
+            "idx_audit_tenant ON audit_logs (tenant_id)",
+            "idx_audit_created ON audit_logs (created_at DESC, id DESC)",
+            "idx_audit_actor_created ON audit_logs (actor_user_id, created_at)",
+            "idx_audit_target_created ON audit_logs (target_type, target_id, created_at)",
+            "idx_audit_action_created ON audit_logs (action, created_at)");
+    private static final int BATCH_SIZE = 1000;
+    private static final long SEED = 42;
+    
+    private AuditDatasetGenerator() {
+    }
+    
+    public static void main(String[] args) {
+        long rows = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+        String jdbcUrl = args.length > 1 ? args[1] : "jdbc:h2:file:./target/benchmark/audit";
+        String username = args.length > 2 ? args[2] : "sa";
+        String password = args.length > 3 ? args[3] : "";
+        try (ConfigurableApplicationContext context = BenchmarkContext.start(jdbcUrl, username, password,
+                "spring.jpa.hibernate.ddl-auto=update",
+                "logging.level." + AuditDatasetGenerator.class.getName() + "=info")) {
+            generate(context, rows);
+        }
+    }
+    
+    public static void generate(ConfigurableApplicationContext context, long rows) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        IdAllocator idAllocator = context.getBean(IdAllocator.class);
+        List<Long> actorIds = actors(context.getBean(UserRepository.class));
+        
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Long.class);
+        long missing = rows - (existing == null ? 0 : existing);
+        if (missing <= 0) {
+            log.info("audit_logs already holds {} rows", existing);
+            return;
+        }
+        
+        log.info("Adding {} rows to audit_logs", missing);
+        INDEXES.forEach(index -> dropIndex(jdbcTemplate, index.substring(0, index.indexOf(' '))));
+        dropIndex(jdbcTemplate, "idx_audit_actor");
+        Random random = new Random(SEED + existing);
+        LocalDateTime now = LocalDateTime.now();
+        long started = System.nanoTime();
+        for (long done = 0; done < missing; done += BATCH_SIZE) {
+            int size = (int) Math.min(BATCH_SIZE, missing - done);
+            long[] ids = idAllocator.allocate("audit_logs_seq", size);
+            List<Object[]> batch = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                batch.add(row(ids[i], random, actorIds, now));
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Object[] row = batch.get(i);
+                    ps.setLong(1, (Long) row[0]);
+                    ps.setNull(2, Types.BIGINT);
+                    ps.setLong(3, (Long) row[1]);
+                    ps.setString(4, (String) row[2]);
+                    ps.setString(5, (String) row[3]);
+                    ps.setString(6, (String) row[4]);
+                    ps.setString(7, (String) row[5]);
+                    ps.setTimestamp(8, (Timestamp) row[6]);
+                }
+                
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+            if ((done / BATCH_SIZE) % 1000 == 999) {
+                log.info("{} of {} rows written", done + size, missing);
+            }
+        }
+        INDEXES.forEach(index -> jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + index));
+        log.info("Wrote and indexed {} rows in {} s", missing, (System.nanoTime() - started) / 1_000_000_000);
+    }
+    
+    /**
+     * Drops an index unless the database holds on to it: H2 backs foreign keys with an existing
+     * index where one fits and refuses to drop it, in which case it stays and is only reported.
+     */
+    public static void dropIndex(JdbcTemplate jdbcTemplate, String name) {
+        try {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS " + name);
+        } catch (DataAccessException e) {
+            log.warn("Keeping index {}: {}", name, e.getMostSpecificCause().getMessage());
+        }
+    }
+    
+    public static List<Long> actors(UserRepository userRepository) {
+        List<User> actors = new ArrayList<>();
+        for (int i = 0; i < ACTORS; i++) {
+            String email = ACTOR_EMAIL_PREFIX + i + "@example.com";
+            if (userRepository.findByEmail(email).isEmpty()) {
+                actors.add(User.builder()
+                        .email(email)
+                        .username(ACTOR_EMAIL_PREFIX + i)
+                        .passwordHash("{noop}unused")
+                        .status(UserStatus.ACTIVE)
+                        .emailVerified(false)
+                        .phoneVerified(false)
+                        .mfaEnabled(false)
+                        .build());
+            }
+        }
+        userRepository.saveAll(actors);
+        
+        List<Long> ids = new ArrayList<>(ACTORS);
+        for (int i = 0; i < ACTORS; i++) {
+            ids.add(userRepository.findByEmail(ACTOR_EMAIL_PREFIX + i + "@example.com").orElseThrow().getId());
+        }
+        return ids;
+    }
+    
+    private static Object[] row(long id, Random random, List<Long> actorIds, LocalDateTime now) {
+        String action = random.nextBoolean() ? "USER_LOGIN" : ACTIONS.get(random.nextInt(ACTIONS.size()));
+        String targetType = action.substring(0, action.indexOf('_'));
+        LocalDateTime createdAt = now.minusSeconds(random.nextInt(DAYS * 24 * 3600));
+        return new Object[]{
+                id,
+                actorIds.get(random.nextInt(actorIds.size())),
+                action,
+                targetType,
+                String.valueOf(1 + random.nextInt(TARGETS)),
+                "10.0." + random.nextInt(256) + "." + random.nextInt(256),
+                Timestamp.valueOf(createdAt)};
+    }
+}
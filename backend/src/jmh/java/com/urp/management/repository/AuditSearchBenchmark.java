@@ -0,0 +1,173 @@
+package com.urp.management.repository;
+
+import com.urp.management.BenchmarkContext;
+import com.urp.management.audit.AuditDatasetGenerator;
+import com.urp.management.domain.entity.AuditLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page (20 rows and the total) of the common audit searches, before and after the move
+ * to specification-built queries. {@code before} runs the old JPQL with its
+ * {@code (:x IS NULL OR ...)} predicates against the old indexes; {@code after} runs the
+ * repository's specification query against the composite indexes. Both variants share one
+ * dataset from {@link AuditDatasetGenerator}, which the first run creates. Each call moves on to
+ * the next actor, action or target: H2 hands back the previous result for a repeated query on
+ * an unchanged table, which would time its cache instead of the search.
+ * <p>
+ * Each variant forks its own JVM and puts the indexes in the state it needs, so runs against a
+ * shared database must not overlap. Use {@code -p rows=10000000} for the full-size table and
+ * {@code -p jdbcUrl=jdbc:postgresql://...} for PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AuditSearchBenchmark {
+    
+    private static final String LEGACY_FILTER = "WHERE " +
+            "(:actorUserId IS NULL OR a.actorUser.id = :actorUserId) " +
+            "AND (:action IS NULL OR a.action = :action) " +
+            "AND (:targetType IS NULL OR a.targetType = :targetType) " +
+            "AND (:targetId IS NULL OR a.targetId = :targetId) " +
+            "AND a.createdAt >= :from " +
+            "AND (:to IS NULL OR a.createdAt <= :to)";
+    private static final String LEGACY_SEARCH = "SELECT a FROM AuditLog a " + LEGACY_FILTER + " ORDER BY a.createdAt DESC";
+    private static final String LEGACY_COUNT = "SELECT COUNT(a) FROM AuditLog a " + LEGACY_FILTER;
+    
+    private static final List<String> LEGACY_INDEXES = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_audit_actor ON audit_logs (actor_user_id)");
+    private static final List<String> COMPOSITE_INDEXES = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_audit_actor_created ON audit_logs (actor_user_id, created_at)",
+            "CREATE INDEX IF NOT EXISTS idx_audit_target_created ON audit_logs (target_type, target_id, created_at)",
+            "CREATE INDEX IF NOT EXISTS idx_audit_action_created ON audit_logs (action, created_at)");
+    
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    private static final int PAGE_SIZE = 20;
+    
+    @Param({"before", "after"})
+    public String variant;
+    
+    @Param("1000000")
+    public long rows;
+    
+    @Param("jdbc:h2:file:./target/benchmark/audit")
+    public String jdbcUrl;
+    
+    @Param("sa")
+    public String username;
+    
+    @Param("")
+    public String password;
+    
+    private ConfigurableApplicationContext context;
+    private AuditLogRepository auditLogRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private List<Long> actorIds;
+    private LocalDateTime now;
+    private int call;
+    
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(jdbcUrl, username, password, "spring.jpa.hibernate.ddl-auto=update");
+        AuditDatasetGenerator.generate(context, rows);
+        
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (variant.equals("before")) {
+            List.of("idx_audit_actor_created", "idx_audit_target_created", "idx_audit_action_created")
+                    .forEach(index -> AuditDatasetGenerator.dropIndex(jdbcTemplate, index));
+            LEGACY_INDEXES.forEach(jdbcTemplate::execute);
+        } else {
+            AuditDatasetGenerator.dropIndex(jdbcTemplate, "idx_audit_actor");
+            COMPOSITE_INDEXES.forEach(jdbcTemplate::execute);
+        }
+        
+        auditLogRepository = context.getBean(AuditLogRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        actorIds = AuditDatasetGenerator.actors(context.getBean(UserRepository.class));
+        now = LocalDateTime.now();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public Page<AuditLog> byActorLastMonth() {
+        return search(actorIds.get(call++ % actorIds.size()), null, null, null, now.minusDays(30));
+    }
+    
+    @Benchmark
+    public Page<AuditLog> byActionLastWeek() {
+        List<String> actions = AuditDatasetGenerator.ACTIONS;
+        return search(null, actions.get(call++ % actions.size()), null, null, now.minusDays(7));
+    }
+    
+    @Benchmark
+    public Page<AuditLog> byTarget() {
+        String targetId = String.valueOf(1 + call++ % AuditDatasetGenerator.TARGETS);
+        return search(null, null, "USER", targetId, now.minusDays(AuditDatasetGenerator.DAYS));
+    }
+    
+    private Page<AuditLog> search(Long actorUserId, String action, String targetType, String targetId,
+                                  LocalDateTime from) {
+        PageRequest page = PageRequest.of(0, PAGE_SIZE, NEWEST_FIRST);
+        return readOnly.execute(status -> variant.equals("before")
+                ? legacySearch(actorUserId, action, targetType, targetId, from, page)
+                : auditLogRepository.findAll(AuditLogSpecifications.matching(actorUserId, action, targetType,
+                        targetId, from, null).and(AuditLogSpecifications.fetchActor()), page));
+    }
+    
+    // What AuditLogRepository.searchAuditLogs ran: the page, then a count with the same filter
+    private Page<AuditLog> legacySearch(Long actorUserId, String action, String targetType, String targetId,
+                                        LocalDateTime from, PageRequest page) {
+        TypedQuery<AuditLog> search = bind(entityManager.createQuery(LEGACY_SEARCH, AuditLog.class),
+                actorUserId, action, targetType, targetId, from);
+        List<AuditLog> content = search.setFirstResult(0).setMaxResults(page.getPageSize()).getResultList();
+        Long total = bind(entityManager.createQuery(LEGACY_COUNT, Long.class),
+                actorUserId, action, targetType, targetId, from).getSingleResult();
+        return new PageImpl<>(content, page, total);
+    }
+    
+    private static <T> TypedQuery<T> bind(TypedQuery<T> query, Long actorUserId, String action,
+                                          String targetType, String targetId, LocalDateTime from) {
+        return query.setParameter("actorUserId", actorUserId)
+                .setParameter("action", action)
+                .setParameter("targetType", targetType)
+                .setParameter("targetId", targetId)
+                .setParameter("from", from)
+                .setParameter("to", null);
+    }
+}
@@ -0,0 +1,129 @@
+package com.urp.management.repository;
+
+import com.urp.management.BenchmarkContext;
+import com.urp.management.domain.entity.AuditLog;
+import com.urp.management.domain.entity.User;
+import com.urp.management.domain.enums.UserStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second for bulk user creation and audit writes through the repositories, with the
+ * IDENTITY ids the entities used to have ({@code before}) and the pooled-lo sequences they map
+ * now ({@code after}). Both variants boot the application with its shipped Hibernate settings;
+ * {@code before} only adds {@code META-INF/identity-ids.orm.xml}, which maps the two ids back to
+ * IDENTITY, so Hibernate inserts row by row and reads each key back instead of batching.
+ * <p>
+ * Runs against in-memory H2 by default, which has no network round trips and so understates the
+ * gap; pass {@code -p jdbcUrl=jdbc:postgresql://... -p username=... -p password=...} to measure
+ * a real server. The schema is created and dropped by the run, so point it at a scratch database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertThroughputBenchmark {
+    
+    private static final int ROWS = 500;
+    
+    @Param({"before", "after"})
+    public String variant;
+    
+    @Param("jdbc:h2:mem:insert-bench;DB_CLOSE_DELAY=-1")
+    public String jdbcUrl;
+    
+    @Param("sa")
+    public String username;
+    
+    @Param("")
+    public String password;
+    
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private AuditLogRepository auditLogRepository;
+    private JdbcTemplate jdbcTemplate;
+    private User actor;
+    private long rowNumber;
+    
+    @Setup
+    public void setUp() {
+        List<String> properties = new ArrayList<>(List.of("spring.jpa.hibernate.ddl-auto=create-drop"));
+        if (variant.equals("before")) {
+            properties.add("spring.jpa.mapping-resources=META-INF/identity-ids.orm.xml");
+        }
+        context = BenchmarkContext.start(jdbcUrl, username, password, properties.toArray(String[]::new));
+        userRepository = context.getBean(UserRepository.class);
+        auditLogRepository = context.getBean(AuditLogRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        actor = userRepository.save(user("bench-actor"));
+    }
+    
+    // Keeps the tables from growing across iterations
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.update("DELETE FROM audit_logs WHERE actor_user_id = ?", actor.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'bench-user-%'");
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<User> createUsers() {
+        List<User> users = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            users.add(user("bench-user-" + rowNumber++));
+        }
+        return userRepository.saveAll(users);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<AuditLog> writeAudit() {
+        List<AuditLog> entries = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            entries.add(AuditLog.builder()
+                    .actorUser(actor)
+                    .action("USER_UPDATED")
+                    .targetType("USER")
+                    .targetId(String.valueOf(i))
+                    .build());
+        }
+        return auditLogRepository.saveAll(entries);
+    }
+    
+    private static User user(String name) {
+        return User.builder()
+                .email(name + "@example.com")
+                .username(name)
+                .passwordHash("{noop}unused")
+                .status(UserStatus.ACTIVE)
+                .emailVerified(false)
+                .phoneVerified(false)
+                .mfaEnabled(false)
+                .build();
+    }
+}
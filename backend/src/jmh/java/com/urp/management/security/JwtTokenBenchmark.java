@@ -0,0 +1,99 @@
+package com.urp.management.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign, parse and validate throughput of {@link JwtTokenProvider}, against the previous
+ * implementation that rebuilt the HMAC key on every call, built a new parser for every parse
+ * and parsed the token twice to validate it. The {@code legacy*} methods reproduce that code.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenBenchmark {
+    
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+    private static final long EXPIRATION_MS = 3_600_000;
+    
+    private JwtTokenProvider tokenProvider;
+    private UserDetails userDetails;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, EXPIRATION_MS, 24 * EXPIRATION_MS, false);
+        userDetails = User.withUsername("admin@urp.com").password("unused").authorities("users.read").build();
+        token = tokenProvider.generateToken(userDetails);
+    }
+    
+    @Benchmark
+    public String sign() {
+        return tokenProvider.generateToken(userDetails);
+    }
+    
+    @Benchmark
+    public String legacySign() {
+        Date now = new Date();
+        return Jwts.builder()
+                .claims(new HashMap<>())
+                .subject(userDetails.getUsername())
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + EXPIRATION_MS))
+                .signWith(legacySigningKey())
+                .compact();
+    }
+    
+    // Parsing and validation are one call now
+    @Benchmark
+    public TokenClaims parseAndValidate() {
+        return tokenProvider.parseAndValidate(token);
+    }
+    
+    @Benchmark
+    public Claims legacyParse() {
+        return legacyExtractAllClaims(token);
+    }
+    
+    // validateToken parsed once for the subject and once more for the expiry
+    @Benchmark
+    public boolean legacyValidate() {
+        String username = legacyExtractAllClaims(token).getSubject();
+        Date expiration = legacyExtractAllClaims(token).getExpiration();
+        return username.equals(userDetails.getUsername()) && !expiration.before(new Date());
+    }
+    
+    private static SecretKey legacySigningKey() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static Claims legacyExtractAllClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(legacySigningKey())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,131 @@
+package com.urp.management.audit;
+
+import com.urp.management.domain.entity.AuditActivityRollup;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps {@code audit_activity_rollups} in step with the audit log: every written batch is
+ * folded into per-hour counters, and any time range can be recomputed from the raw rows.
+ */
+@Slf4j
+@Component
+public class AuditActivityRollups implements AuditEventListener {
+    
+    private static final String POSTGRES_UPSERT_SQL = "INSERT INTO audit_activity_rollups " +
+            "(bucket_start, action, tenant_id, event_count) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (bucket_start, action, tenant_id) " +
+            "DO UPDATE SET event_count = audit_activity_rollups.event_count + EXCLUDED.event_count";
+    
+    private static final String MERGE_SQL = "MERGE INTO audit_activity_rollups r USING (VALUES " +
+            "(CAST(? AS TIMESTAMP), CAST(? AS VARCHAR(255)), CAST(? AS BIGINT), CAST(? AS BIGINT))) " +
+            "s (bucket_start, action, tenant_id, event_count) " +
+            "ON r.bucket_start = s.bucket_start AND r.action = s.action AND r.tenant_id = s.tenant_id " +
+            "WHEN MATCHED THEN UPDATE SET event_count = r.event_count + s.event_count " +
+            "WHEN NOT MATCHED THEN INSERT (bucket_start, action, tenant_id, event_count) " +
+            "VALUES (s.bucket_start, s.action, s.tenant_id, s.event_count)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile String upsertSql;
+    
+    public AuditActivityRollups(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Override
+    public void onAuditEvents(List<AuditEvent> events) {
+        Map<BucketKey, Long> counts = new HashMap<>();
+        for (AuditEvent event : events) {
+            BucketKey key = new BucketKey(
+                    event.createdAt().truncatedTo(ChronoUnit.HOURS),
+                    event.action(),
+                    event.tenantId() != null ? event.tenantId() : AuditActivityRollup.NO_TENANT);
+            counts.merge(key, 1L, Long::sum);
+        }
+        
+        List<Object[]> rows = new ArrayList<>(counts.size());
+        counts.forEach((key, count) ->
+                rows.add(new Object[]{Timestamp.valueOf(key.bucketStart()), key.action(), key.tenantId(), count}));
+        jdbcTemplate.batchUpdate(upsertSql(), rows);
+    }
+    
+    /**
+     * Starts {@link #rebuild} on a background thread. Returns false if a rebuild is already running.
+     */
+    public boolean startRebuild(LocalDateTime from, LocalDateTime to) {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild(from, to);
+            } catch (RuntimeException e) {
+                log.error("Audit activity rebuild between {} and {} failed", from, to, e);
+            } finally {
+                rebuilding.set(false);
+            }
+        }, "audit-rollup-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+    
+    /**
+     * Recomputes the hourly buckets in {@code [from, to)} from audit_logs, one day per
+     * transaction. Ranges that end before the current hour are not touched by live writes.
+     */
+    public long rebuild(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        long buckets = 0;
+        while (start.isBefore(to)) {
+            LocalDateTime end = start.plusDays(1).isBefore(to) ? start.plusDays(1) : to;
+            Timestamp chunkStart = Timestamp.valueOf(start);
+            Timestamp chunkEnd = Timestamp.valueOf(end);
+            
+            Integer rebuilt = transactionTemplate.execute(status -> {
+                jdbcTemplate.update("DELETE FROM audit_activity_rollups WHERE bucket_start >= ? AND bucket_start < ?",
+                        chunkStart, chunkEnd);
+                return jdbcTemplate.update("INSERT INTO audit_activity_rollups (bucket_start, action, tenant_id, event_count) " +
+                        "SELECT DATE_TRUNC('hour', created_at), action, COALESCE(tenant_id, 0), COUNT(*) " +
+                        "FROM audit_logs WHERE created_at >= ? AND created_at < ? " +
+                        "GROUP BY DATE_TRUNC('hour', created_at), action, COALESCE(tenant_id, 0)",
+                        chunkStart, chunkEnd);
+            });
+            buckets += rebuilt != null ? rebuilt : 0;
+            start = end;
+        }
+        log.info("Rebuilt {} audit activity buckets between {} and {}", buckets, from, to);
+        return buckets;
+    }
+    
+    private String upsertSql() {
+        if (upsertSql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            // PostgreSQL's MERGE is not safe against concurrent inserts of the same key
+            upsertSql = product != null && product.toLowerCase().contains("postgres")
+                    ? POSTGRES_UPSERT_SQL
+                    : MERGE_SQL;
+        }
+        return upsertSql;
+    }
+    
+    private record BucketKey(LocalDateTime bucketStart, String action, Long tenantId) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.urp.management.audit;
+
+public enum AuditDurability {
+    /** Insert the audit row inside the caller's transaction; it commits or rolls back with it. */
+    TRANSACTIONAL,
+    /** Queue the event once the caller's transaction commits and write it in background batches. */
+    ASYNC
+}
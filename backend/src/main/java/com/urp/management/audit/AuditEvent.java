@@ -0,0 +1,18 @@
+package com.urp.management.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable audit record captured on the request thread. Everything that depends on the
+ * request (client address, user agent, time) is resolved before the event is handed off;
+ * the id is only known once the event has been written.
+ */
+public record AuditEvent(Long id, Long tenantId, Long actorUserId, String action,
+                         String targetType, String targetId, String diffJson,
+                         String ipAddress, String userAgent, LocalDateTime createdAt) {
+    
+    public AuditEvent withId(Long id) {
+        return new AuditEvent(id, tenantId, actorUserId, action, targetType, targetId,
+                diffJson, ipAddress, userAgent, createdAt);
+    }
+}
@@ -0,0 +1,12 @@
+package com.urp.management.audit;
+
+import java.util.List;
+
+/**
+ * Notified by {@link AuditWriter} once audit events are stored. Called inside a transaction
+ * of its own, after the events it carries have been committed.
+ */
+public interface AuditEventListener {
+    
+    void onAuditEvents(List<AuditEvent> events);
+}
@@ -0,0 +1,200 @@
+package com.urp.management.audit;
+
+import com.urp.management.domain.entity.Ids;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Enforces {@code app.audit.retention-days}. On PostgreSQL audit_logs is range-partitioned by
+ * month, partitions are created ahead of time and expired months are detached and dropped (or
+ * kept aside as archive tables), so retention costs one DDL statement per month. Databases
+ * without declarative partitioning fall back to deleting expired rows in index-ordered chunks,
+ * bounded per run by a chunk count and a time budget; a backlog is worked off over later runs.
+ */
+@Slf4j
+@Component
+public class AuditPartitionManager {
+    
+    private static final String TABLE = "audit_logs";
+    private static final String PARTITION_PREFIX = "audit_logs_p";
+    private static final String ARCHIVE_PREFIX = "audit_logs_archive_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final int DELETE_CHUNK = 10_000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int monthsAhead;
+    private final boolean archive;
+    private final int maxDeleteChunks;
+    private final long maxDeleteMillis;
+    
+    private volatile boolean partitioned;
+    
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.audit.retention-days:90}") int retentionDays,
+                                 @Value("${app.audit.partitions.months-ahead:2}") int monthsAhead,
+                                 @Value("${app.audit.partitions.archive-expired:false}") boolean archive,
+                                 @Value("${app.audit.retention.max-delete-chunks:50}") int maxDeleteChunks,
+                                 @Value("${app.audit.retention.max-delete-duration-ms:60000}") long maxDeleteMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.monthsAhead = monthsAhead;
+        this.archive = archive;
+        this.maxDeleteChunks = Math.max(1, maxDeleteChunks);
+        this.maxDeleteMillis = Math.max(0, maxDeleteMillis);
+    }
+    
+    /**
+     * Oldest instant still inside the retention window. Searches never reach below it, which
+     * also lets PostgreSQL prune expired partitions that have not been dropped yet.
+     */
+    public LocalDateTime retentionCutoff() {
+        return LocalDate.now().minusDays(retentionDays).atStartOfDay();
+    }
+    
+    public LocalDateTime clampFrom(LocalDateTime from) {
+        LocalDateTime cutoff = retentionCutoff();
+        return from == null || from.isBefore(cutoff) ? cutoff : from;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        partitioned = product != null && product.toLowerCase().contains("postgres");
+        
+        if (partitioned) {
+            transactionTemplate.executeWithoutResult(status -> ensurePartitionedTable());
+        }
+        maintain();
+    }
+    
+    @Scheduled(cron = "${app.audit.partitions.maintenance-cron:0 30 3 * * *}")
+    public void maintain() {
+        if (partitioned) {
+            createUpcomingPartitions();
+            dropExpiredPartitions();
+        } else {
+            deleteExpiredRows();
+        }
+    }
+    
+    private void ensurePartitionedTable() {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass(?)", String.class, TABLE);
+        if ("p".equals(kind)) {
+            return;
+        }
+        
+        log.info("Converting {} to a monthly range-partitioned table", TABLE);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + TABLE + "_unpartitioned");
+        // Ids are allocated by the writers from this sequence in pooled-lo blocks; moving it past
+        // the existing rows keeps blocks handed out from here on clear of them
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + TABLE + "_seq INCREMENT BY " + Ids.ALLOCATION_SIZE);
+        jdbcTemplate.execute("SELECT setval('" + TABLE + "_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM "
+                + TABLE + "_unpartitioned), (SELECT last_value FROM " + TABLE + "_seq), 1))");
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + TABLE + "_unpartitioned INCLUDING DEFAULTS) "
+                + "PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD PRIMARY KEY (id, created_at)");
+        jdbcTemplate.execute("CREATE INDEX idx_audit_created ON " + TABLE + " (created_at, id)");
+        jdbcTemplate.execute("CREATE INDEX idx_audit_tenant ON " + TABLE + " (tenant_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_audit_actor_created ON " + TABLE + " (actor_user_id, created_at)");
+        jdbcTemplate.execute("CREATE INDEX idx_audit_target_created ON " + TABLE + " (target_type, target_id, created_at)");
+        jdbcTemplate.execute("CREATE INDEX idx_audit_action_created ON " + TABLE + " (action, created_at)");
+        // Catches rows outside every monthly range instead of failing the insert
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + "_default PARTITION OF " + TABLE + " DEFAULT");
+        
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM " + TABLE + "_unpartitioned", Timestamp.class);
+        YearMonth month = oldest != null
+                ? YearMonth.from(oldest.toLocalDateTime())
+                : YearMonth.from(retentionCutoff());
+        for (; !month.isAfter(YearMonth.now()); month = month.plusMonths(1)) {
+            createPartition(month);
+        }
+        
+        jdbcTemplate.execute("INSERT INTO " + TABLE + " SELECT * FROM " + TABLE + "_unpartitioned");
+        jdbcTemplate.execute("DROP TABLE " + TABLE + "_unpartitioned CASCADE");
+    }
+    
+    private void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+    }
+    
+    private void createPartition(YearMonth month) {
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s%s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                PARTITION_PREFIX, month.format(PARTITION_SUFFIX), TABLE,
+                month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+    
+    private void dropExpiredPartitions() {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass(?) AND c.relname LIKE ?",
+                String.class, TABLE, PARTITION_PREFIX + "%");
+        
+        // A month may only go once all of it is older than the cutoff
+        YearMonth firstRetained = YearMonth.from(retentionCutoff());
+        for (String partition : partitions) {
+            YearMonth month = YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            if (!month.isBefore(firstRetained)) {
+                continue;
+            }
+            
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+            if (archive) {
+                jdbcTemplate.execute("ALTER TABLE " + partition + " RENAME TO "
+                        + ARCHIVE_PREFIX + month.format(PARTITION_SUFFIX));
+                log.info("Archived audit partition {}", partition);
+            } else {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                log.info("Dropped audit partition {}", partition);
+            }
+        }
+    }
+    
+    private void deleteExpiredRows() {
+        Timestamp cutoff = Timestamp.valueOf(retentionCutoff());
+        long deadline = System.currentTimeMillis() + maxDeleteMillis;
+        long deleted = 0;
+        int chunks = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> jdbcTemplate.update(
+                    "DELETE FROM " + TABLE + " WHERE id IN (SELECT id FROM " + TABLE
+                            + " WHERE created_at < ? ORDER BY created_at FETCH FIRST " + DELETE_CHUNK + " ROWS ONLY)",
+                    cutoff));
+            deleted += chunk;
+            chunks++;
+        } while (chunk == DELETE_CHUNK && chunks < maxDeleteChunks && System.currentTimeMillis() < deadline);
+        
+        if (chunk == DELETE_CHUNK) {
+            log.info("Deleted {} audit log rows older than {}; the rest is left for the next run", deleted, cutoff);
+        } else if (deleted > 0) {
+            log.info("Deleted {} audit log rows older than {}", deleted, cutoff);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.urp.management.audit;
+
+import com.urp.management.dto.response.AuditLogResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans written audit events out to Server-Sent Event subscribers. Publishing only offers to
+ * each subscriber's bounded buffer; a sender thread per draining subscriber, taken from an
+ * on-demand pool, writes the buffer out, so a blocking write only ever stalls its own client.
+ * A subscriber whose buffer overflows, or whose write has been stuck for longer than
+ * {@code app.audit.stream.send-timeout-ms}, is disconnected.
+ */
+@Slf4j
+@Component
+public class AuditStreamHub implements AuditEventListener, DisposableBean {
+    
+    private static final Object HEARTBEAT = new Object();
+    
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final long sendTimeoutMs;
+    private final Counter droppedCounter;
+    
+    public AuditStreamHub(MeterRegistry meterRegistry,
+                          @Value("${app.audit.stream.max-subscribers:100}") int maxSubscribers,
+                          @Value("${app.audit.stream.buffer-size:256}") int bufferSize,
+                          @Value("${app.audit.stream.timeout-ms:1800000}") long timeoutMs,
+                          @Value("${app.audit.stream.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+        
+        // At most one sender per subscriber runs at a time, so max-subscribers bounds the pool
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "audit-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        meterRegistry.gaugeCollectionSize("audit.stream.subscribers", List.of(), subscribers);
+        this.droppedCounter = meterRegistry.counter("audit.stream.dropped");
+    }
+    
+    public SseEmitter subscribe(Filter filter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RuntimeException("Too many audit stream subscribers");
+        }
+        
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, filter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+    
+    @Override
+    public void onAuditEvents(List<AuditEvent> events) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            for (AuditEvent event : events) {
+                if (subscriber.filter().matches(event) && !subscriber.offer(event)) {
+                    drop(subscriber, "fell " + bufferSize + " events behind");
+                    break;
+                }
+            }
+        }
+    }
+    
+    // Keeps proxies from closing idle streams and detects clients that went away
+    @Scheduled(fixedDelayString = "${app.audit.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(HEARTBEAT)) {
+                drop(subscriber, "fell " + bufferSize + " events behind");
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.audit.stream.send-timeout-ms:10000}")
+    public void dropStalledSubscribers() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > sendTimeoutMs) {
+                drop(subscriber, "was stuck writing for more than " + sendTimeoutMs + " ms");
+            }
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+    
+    /**
+     * Completing takes the emitter's lock, which a stuck write holds, so the subscriber is
+     * completed by its own sender once the write returns or fails, never by the caller.
+     */
+    private void drop(Subscriber subscriber, String reason) {
+        if (subscribers.remove(subscriber)) {
+            droppedCounter.increment();
+            log.info("Dropped audit stream subscriber that {}", reason);
+            subscriber.close();
+        }
+    }
+    
+    private static AuditLogResponse toResponse(AuditEvent event) {
+        return AuditLogResponse.builder()
+                .id(event.id())
+                .action(event.action())
+                .targetType(event.targetType())
+                .targetId(event.targetId())
+                .diffJson(event.diffJson())
+                .createdAt(event.createdAt())
+                .actorUserId(event.actorUserId())
+                .ipAddress(event.ipAddress())
+                .userAgent(event.userAgent())
+                .build();
+    }
+    
+    public record Filter(String action, String targetType, Long tenantId) {
+        
+        boolean matches(AuditEvent event) {
+            return (action == null || action.equals(event.action()))
+                    && (targetType == null || targetType.equals(event.targetType()))
+                    && (tenantId == null || tenantId.equals(event.tenantId()));
+        }
+    }
+    
+    private final class Subscriber {
+        
+        private final SseEmitter emitter;
+        private final Filter filter;
+        private final BlockingQueue<Object> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile long sendingSince;
+        
+        Subscriber(SseEmitter emitter, Filter filter, BlockingQueue<Object> buffer) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.buffer = buffer;
+        }
+        
+        SseEmitter emitter() {
+            return emitter;
+        }
+        
+        Filter filter() {
+            return filter;
+        }
+        
+        boolean offer(Object item) {
+            if (!buffer.offer(item)) {
+                return false;
+            }
+            schedule();
+            return true;
+        }
+        
+        void close() {
+            closed = true;
+            buffer.clear();
+            schedule();
+        }
+        
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            try {
+                Object item;
+                while (!closed && (item = buffer.poll()) != null) {
+                    send(item);
+                }
+                if (closed) {
+                    emitter.complete();
+                    return;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client disconnected or the emitter already completed
+                subscribers.remove(this);
+                buffer.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An item, or a close, may have arrived after the last poll but before the flag was cleared
+            if ((closed || !buffer.isEmpty()) && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+        
+        private void send(Object item) throws IOException {
+            sendingSince = System.currentTimeMillis();
+            try {
+                if (item == HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    return;
+                }
+                AuditEvent event = (AuditEvent) item;
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.id()))
+                        .name("audit")
+                        .data(toResponse(event), MediaType.APPLICATION_JSON));
+            } finally {
+                sendingSince = 0;
+            }
+        }
+    }
+}
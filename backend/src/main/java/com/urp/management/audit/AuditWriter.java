@@ -0,0 +1,254 @@
+package com.urp.management.audit;
+
+import com.urp.management.repository.IdAllocator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes audit events with plain JDBC batch inserts. In {@link AuditDurability#ASYNC} mode
+ * events are queued after the caller commits and a single writer thread drains the queue in
+ * batches; when the queue is full the caller writes its own event instead of dropping it.
+ * Queued events are flushed before the application shuts down.
+ */
+@Slf4j
+@Component
+public class AuditWriter implements SmartLifecycle {
+    
+    private static final String INSERT_SQL = "INSERT INTO audit_logs " +
+            "(id, tenant_id, actor_user_id, action, target_type, target_id, diff_json, ip_address, user_agent, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SEQUENCE = "audit_logs_seq";
+    
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final IdAllocator idAllocator;
+    private final List<AuditEventListener> listeners;
+    private final TransactionTemplate writeTransaction;
+    private final AuditDurability durability;
+    private final BlockingQueue<AuditEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    
+    private final Counter enqueuedCounter;
+    private final Counter overflowCounter;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    
+    private volatile boolean running;
+    private Thread worker;
+    
+    public AuditWriter(JdbcTemplate jdbcTemplate,
+                       IdAllocator idAllocator,
+                       List<AuditEventListener> listeners,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.audit.durability:async}") AuditDurability durability,
+                       @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+                       @Value("${app.audit.batch-size:500}") int batchSize,
+                       @Value("${app.audit.flush-interval-ms:200}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.listeners = listeners;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.durability = durability;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        
+        meterRegistry.gauge("audit.queue.depth", queue, BlockingQueue::size);
+        this.enqueuedCounter = meterRegistry.counter("audit.events.enqueued");
+        this.overflowCounter = meterRegistry.counter("audit.events.overflow");
+        this.writtenCounter = meterRegistry.counter("audit.events.written");
+        this.failedCounter = meterRegistry.counter("audit.events.failed");
+        this.batchTimer = meterRegistry.timer("audit.batch.write");
+    }
+    
+    public void write(AuditEvent event) {
+        if (durability == AuditDurability.TRANSACTIONAL) {
+            List<AuditEvent> written = insert(List.of(event));
+            // Listeners work on short transactions of their own, never inside the caller's
+            runAfterCommit(() -> notifyInNewTransaction(written));
+        } else {
+            runAfterCommit(() -> enqueue(event));
+        }
+    }
+    
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    private void enqueue(AuditEvent event) {
+        if (running && queue.offer(event)) {
+            enqueuedCounter.increment();
+            return;
+        }
+        // Backpressure: the caller pays for its own insert rather than losing the event
+        overflowCounter.increment();
+        writeInNewTransaction(List.of(event));
+    }
+    
+    private void drain() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeInNewTransaction(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    private void writeInNewTransaction(List<AuditEvent> events) {
+        try {
+            List<AuditEvent> written = batchTimer.record(() -> writeTransaction.execute(status -> insert(events)));
+            notifyInNewTransaction(written);
+        } catch (DataAccessException | TransactionException e) {
+            if (events.size() == 1) {
+                failedCounter.increment();
+                log.error("Failed to write audit event {}", events.get(0), e);
+                return;
+            }
+            // Isolate the offending row so the rest of the batch is still recorded
+            events.forEach(event -> writeInNewTransaction(List.of(event)));
+        }
+    }
+    
+    private void notifyInNewTransaction(List<AuditEvent> events) {
+        for (AuditEventListener listener : listeners) {
+            try {
+                writeTransaction.executeWithoutResult(status -> listener.onAuditEvents(events));
+            } catch (RuntimeException e) {
+                log.warn("Audit listener {} failed for {} events", listener.getClass().getSimpleName(), events.size(), e);
+            }
+        }
+    }
+    
+    private List<AuditEvent> insert(List<AuditEvent> events) {
+        long[] ids = idAllocator.allocate(SEQUENCE, events.size());
+        List<AuditEvent> written = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            written.add(events.get(i).withId(ids[i]));
+        }
+        
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                bind(ps, written.get(i));
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return written.size();
+            }
+        });
+        writtenCounter.increment(events.size());
+        return written;
+    }
+    
+    private static void bind(PreparedStatement ps, AuditEvent event) throws SQLException {
+        ps.setLong(1, event.id());
+        setLong(ps, 2, event.tenantId());
+        setLong(ps, 3, event.actorUserId());
+        ps.setString(4, event.action());
+        ps.setString(5, event.targetType());
+        ps.setString(6, event.targetId());
+        ps.setString(7, event.diffJson());
+        ps.setString(8, event.ipAddress());
+        ps.setString(9, event.userAgent());
+        ps.setTimestamp(10, Timestamp.valueOf(event.createdAt()));
+    }
+    
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+    
+    @Override
+    public synchronized void start() {
+        if (running || durability != AuditDurability.ASYNC) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drain, "audit-writer");
+        worker.start();
+    }
+    
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            worker.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        List<AuditEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.warn("Writing {} audit events left after the writer stopped", remaining.size());
+            writeInNewTransaction(remaining);
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    // Stop only after the web server has stopped accepting requests
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -66,7 +66,10 @@ public class DataInitializer implements CommandLineRunner {
             
             // Group permissions
             createPermission("groups.read", "View groups", "Groups", "groups", "read"),
-            createPermission("groups.write", "Create/Edit groups", "Groups", "groups", "write")
+            createPermission("groups.write", "Create/Edit groups", "Groups", "groups", "write"),
+            
+            // Authorization API permissions
+            createPermission("authz.check", "Query effective permissions of any user", "Authorization", "authz", "check")
         );
         
         permissionRepository.saveAll(permissions);
@@ -1,11 +1,22 @@
 package com.urp.management.config;
 
+import com.urp.management.security.CompiledAuthorizationModel;
+import com.urp.management.security.CompiledSecurityExpressionHandler;
 import com.urp.management.security.CustomUserDetailsService;
 import com.urp.management.security.JwtAuthenticationFilter;
+import com.urp.management.security.ScopedPermissionEvaluator;
+import com.urp.management.security.ScopedPermissionIndex;
+import com.urp.management.security.UserPrincipal;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -18,6 +29,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -34,6 +46,7 @@ public class SecurityConfig {
     
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ScopedPermissionIndex scopedPermissionIndex;
     
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -41,10 +54,12 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
+                        // Streaming responses finish on an async dispatch, already authorized on the request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/permissions").authenticated()
-                        .requestMatchers("/api/admin/**").hasAuthority("admin.manage")
+                        .requestMatchers("/api/admin/**").access(adminAccess())
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -57,6 +72,34 @@ public class SecurityConfig {
         return http.build();
     }
     
+    /**
+     * Global administrators hold {@code admin.manage}; tenant administrators hold permissions at
+     * TENANT scope and are let through to the endpoints, which check the tenant themselves.
+     * PROJECT and RESOURCE grants alone do not open the admin API.
+     */
+    private AuthorizationManager<RequestAuthorizationContext> adminAccess() {
+        AuthorizationManager<RequestAuthorizationContext> globalAdmin =
+                AuthorityAuthorizationManager.hasAuthority("admin.manage");
+        return (authentication, context) -> {
+            AuthorizationDecision decision = globalAdmin.check(authentication, context);
+            if (decision != null && decision.isGranted()) {
+                return decision;
+            }
+            return new AuthorizationDecision(authentication.get() != null
+                    && authentication.get().getPrincipal() instanceof UserPrincipal principal
+                    && scopedPermissionIndex.hasTenantGrants(principal.getUserId()));
+        };
+    }
+    
+    @Bean
+    public static MethodSecurityExpressionHandler methodSecurityExpressionHandler(
+            ObjectProvider<CompiledAuthorizationModel> authorizationModel,
+            ObjectProvider<ScopedPermissionIndex> permissionIndex) {
+        CompiledSecurityExpressionHandler handler = new CompiledSecurityExpressionHandler(authorizationModel);
+        handler.setPermissionEvaluator(new ScopedPermissionEvaluator(permissionIndex));
+        return handler;
+    }
+    
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
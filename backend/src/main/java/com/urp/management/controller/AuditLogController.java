@@ -1,14 +1,23 @@
 package com.urp.management.controller;
 
+import com.urp.management.domain.enums.DataFormat;
 import com.urp.management.dto.response.AuditLogResponse;
+import com.urp.management.dto.response.CursorPageResponse;
+import com.urp.management.service.AuditExportService;
 import com.urp.management.service.AuditService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 
@@ -19,6 +28,7 @@ import java.time.LocalDateTime;
 public class AuditLogController {
     
     private final AuditService auditService;
+    private final AuditExportService auditExportService;
     
     @GetMapping
     public ResponseEntity<Page<AuditLogResponse>> searchAuditLogs(
@@ -33,4 +43,45 @@ public class AuditLogController {
                 actorUserId, action, targetType, targetId, from, to, pageable);
         return ResponseEntity.ok(logs);
     }
+    
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponse<AuditLogResponse>> scrollAuditLogs(
+            @RequestParam(required = false) Long actorUserId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String targetType,
+            @RequestParam(required = false) String targetId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int size) {
+        CursorPageResponse<AuditLogResponse> logs = auditService.scrollAuditLogs(
+                actorUserId, action, targetType, targetId, from, to, cursor, size);
+        return ResponseEntity.ok(logs);
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAuditLogs(
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String targetType,
+            @RequestParam(required = false) Long tenantId) {
+        return auditService.streamAuditLogs(action, targetType, tenantId);
+    }
+    
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('audit.export')")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @RequestParam(required = false) Long actorUserId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String targetType,
+            @RequestParam(required = false) String targetId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "NDJSON") DataFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzipEncoding = !gzip && ExportResponses.acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = auditExportService.export(
+                actorUserId, action, targetType, targetId, from, to, format, gzip || gzipEncoding);
+        return ExportResponses.export("audit-logs", format, gzip, gzipEncoding, body);
+    }
 }
@@ -0,0 +1,43 @@
+package com.urp.management.controller;
+
+import com.urp.management.dto.request.AuthzCheckRequest;
+import com.urp.management.dto.response.AuthzCheckResponse;
+import com.urp.management.dto.response.EffectivePermissionsResponse;
+import com.urp.management.service.AuthzService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/authz")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('authz.check')")
+public class AuthzController {
+    
+    private final AuthzService authzService;
+    
+    @PostMapping("/check")
+    public ResponseEntity<AuthzCheckResponse> check(@Valid @RequestBody AuthzCheckRequest request) {
+        AuthzCheckResponse response = authzService.check(request);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/users/{id}/effective")
+    public ResponseEntity<EffectivePermissionsResponse> getEffectivePermissions(
+            @PathVariable Long id,
+            WebRequest webRequest) {
+        String etag = authzService.effectivePermissionsTag(id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        EffectivePermissionsResponse response = authzService.getEffectivePermissions(id);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(response);
+    }
+}
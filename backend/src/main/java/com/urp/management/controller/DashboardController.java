@@ -1,13 +1,17 @@
 package com.urp.management.controller;
 
+import com.urp.management.domain.enums.TimeGranularity;
+import com.urp.management.dto.response.ActivityPointResponse;
 import com.urp.management.dto.response.DashboardStatsResponse;
 import com.urp.management.dto.response.RecentActivityResponse;
 import com.urp.management.service.DashboardService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -18,7 +22,7 @@ public class DashboardController {
     private final DashboardService dashboardService;
     
     @GetMapping("/stats")
-    @PreAuthorize("isAuthenticated()")
+    @PreAuthorize("hasAuthority('admin.manage')")
     public ResponseEntity<DashboardStatsResponse> getDashboardStats() {
         DashboardStatsResponse stats = dashboardService.getDashboardStats();
         return ResponseEntity.ok(stats);
@@ -31,4 +35,25 @@ public class DashboardController {
         List<RecentActivityResponse> activities = dashboardService.getRecentActivity(limit);
         return ResponseEntity.ok(activities);
     }
+    
+    @GetMapping("/activity-series")
+    @PreAuthorize("hasAuthority('audit.read')")
+    public ResponseEntity<List<ActivityPointResponse>> getActivitySeries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "HOUR") TimeGranularity granularity,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) Long tenantId) {
+        List<ActivityPointResponse> series = dashboardService.getActivitySeries(from, to, granularity, action, tenantId);
+        return ResponseEntity.ok(series);
+    }
+    
+    @PostMapping("/activity-series/rebuild")
+    @PreAuthorize("hasAuthority('admin.manage')")
+    public ResponseEntity<Void> rebuildActivitySeries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        dashboardService.rebuildActivityRollups(from, to);
+        return ResponseEntity.accepted().build();
+    }
 }
@@ -0,0 +1,64 @@
+package com.urp.management.controller;
+
+import com.urp.management.domain.enums.DataFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Builds the responses of streamed exports. A client that sends {@code Accept-Encoding: gzip}
+ * gets the export compressed on the wire with {@code Content-Encoding: gzip} and the format's
+ * own media type; {@code gzip=true} instead asks for a {@code .gz} file download.
+ */
+final class ExportResponses {
+    
+    private ExportResponses() {
+    }
+    
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=") || param.startsWith("Q=")) {
+                    try {
+                        refused = Double.parseDouble(param.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    static ResponseEntity<StreamingResponseBody> export(String basename, DataFormat format,
+                                                        boolean gzipFile, boolean gzipEncoding,
+                                                        StreamingResponseBody body) {
+        String filename = basename + "." + (format == DataFormat.CSV ? "csv" : "ndjson") + (gzipFile ? ".gz" : "");
+        MediaType contentType = gzipFile ? MediaType.parseMediaType("application/gzip")
+                : format == DataFormat.CSV ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                : MediaType.parseMediaType("application/x-ndjson");
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzipEncoding) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,90 @@
+package com.urp.management.controller;
+
+import com.urp.management.dto.request.AssignRoleRequest;
+import com.urp.management.dto.request.CreateGroupRequest;
+import com.urp.management.dto.request.UpdateGroupParentRequest;
+import com.urp.management.dto.response.GroupResponse;
+import com.urp.management.dto.response.GroupRoleResponse;
+import com.urp.management.service.GroupService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/groups")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('groups.read')")
+public class GroupController {
+    
+    private final GroupService groupService;
+    
+    @GetMapping
+    public ResponseEntity<List<GroupResponse>> getGroups(@RequestParam(required = false) Long tenantId) {
+        List<GroupResponse> groups = groupService.getGroups(tenantId);
+        return ResponseEntity.ok(groups);
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<GroupResponse> getGroupById(@PathVariable Long id) {
+        GroupResponse group = groupService.getGroupById(id);
+        return ResponseEntity.ok(group);
+    }
+    
+    @PostMapping
+    @PreAuthorize("hasAuthority('groups.write')")
+    public ResponseEntity<GroupResponse> createGroup(@Valid @RequestBody CreateGroupRequest request) {
+        GroupResponse group = groupService.createGroup(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(group);
+    }
+    
+    @PutMapping("/{id}/parent")
+    @PreAuthorize("hasAuthority('groups.write')")
+    public ResponseEntity<GroupResponse> updateParent(
+            @PathVariable Long id,
+            @RequestBody UpdateGroupParentRequest request) {
+        GroupResponse group = groupService.updateParent(id, request);
+        return ResponseEntity.ok(group);
+    }
+    
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAuthority('groups.write')")
+    public ResponseEntity<Void> deleteGroup(@PathVariable Long id) {
+        groupService.deleteGroup(id);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @PostMapping("/{id}/members/{userId}")
+    @PreAuthorize("hasAuthority('groups.write')")
+    public ResponseEntity<Void> addMember(@PathVariable Long id, @PathVariable Long userId) {
+        groupService.addMember(id, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+    
+    @DeleteMapping("/{id}/members/{userId}")
+    @PreAuthorize("hasAuthority('groups.write')")
+    public ResponseEntity<Void> removeMember(@PathVariable Long id, @PathVariable Long userId) {
+        groupService.removeMember(id, userId);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @PostMapping("/{id}/roles")
+    @PreAuthorize("hasAuthority('roles.assign')")
+    public ResponseEntity<GroupRoleResponse> assignRole(
+            @PathVariable Long id,
+            @Valid @RequestBody AssignRoleRequest request) {
+        GroupRoleResponse groupRole = groupService.assignRole(id, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(groupRole);
+    }
+    
+    @DeleteMapping("/{id}/roles/{groupRoleId}")
+    @PreAuthorize("hasAuthority('roles.assign')")
+    public ResponseEntity<Void> removeRole(@PathVariable Long id, @PathVariable Long groupRoleId) {
+        groupService.removeRole(id, groupRoleId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,7 +1,9 @@
 package com.urp.management.controller;
 
+import com.urp.management.dto.request.BatchRoleAssignmentRequest;
 import com.urp.management.dto.request.CreateRoleRequest;
 import com.urp.management.dto.request.UpdateRoleRequest;
+import com.urp.management.dto.response.BatchRoleAssignmentResponse;
 import com.urp.management.dto.response.PermissionResponse;
 import com.urp.management.dto.response.RoleResponse;
 import com.urp.management.service.RoleService;
@@ -60,6 +62,24 @@ public class RoleController {
         return ResponseEntity.ok(role);
     }
     
+    @PostMapping("/{id}/assignments:batch")
+    @PreAuthorize("hasAuthority('roles.assign')")
+    public ResponseEntity<BatchRoleAssignmentResponse> assignRoleBatch(
+            @PathVariable Long id,
+            @Valid @RequestBody BatchRoleAssignmentRequest request) {
+        BatchRoleAssignmentResponse result = roleService.assignRoleBatch(id, request);
+        return ResponseEntity.ok(result);
+    }
+    
+    @PostMapping("/{id}/assignments:batchRevoke")
+    @PreAuthorize("hasAuthority('roles.assign')")
+    public ResponseEntity<BatchRoleAssignmentResponse> revokeRoleBatch(
+            @PathVariable Long id,
+            @Valid @RequestBody BatchRoleAssignmentRequest request) {
+        BatchRoleAssignmentResponse result = roleService.revokeRoleBatch(id, request);
+        return ResponseEntity.ok(result);
+    }
+    
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAuthority('roles.write')")
     public ResponseEntity<Void> deleteRole(@PathVariable Long id) {
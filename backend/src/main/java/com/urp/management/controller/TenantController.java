@@ -3,11 +3,14 @@ package com.urp.management.controller;
 import com.urp.management.domain.enums.TenantStatus;
 import com.urp.management.dto.request.CreateTenantRequest;
 import com.urp.management.dto.request.UpdateTenantRequest;
+import com.urp.management.dto.response.CursorPageResponse;
 import com.urp.management.dto.response.TenantResponse;
 import com.urp.management.dto.response.UserResponse;
 import com.urp.management.service.TenantService;
 import com.urp.management.service.UserService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -34,7 +37,18 @@ public class TenantController {
         return ResponseEntity.ok(tenants);
     }
     
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponse<TenantResponse>> scrollTenants(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) TenantStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(200) int size) {
+        CursorPageResponse<TenantResponse> tenants = tenantService.scrollTenants(query, status, cursor, size);
+        return ResponseEntity.ok(tenants);
+    }
+    
     @GetMapping("/{id}")
+    @PreAuthorize("hasPermission(#id, 'TENANT', 'tenants.read')")
     public ResponseEntity<TenantResponse> getTenantById(@PathVariable Long id) {
         TenantResponse tenant = tenantService.getTenantById(id);
         return ResponseEntity.ok(tenant);
@@ -86,6 +100,7 @@ public class TenantController {
     }
     
     @GetMapping("/{id}/users")
+    @PreAuthorize("hasPermission(#id, 'TENANT', 'users.read')")
     public ResponseEntity<Page<UserResponse>> getTenantUsers(
             @PathVariable Long id,
             @RequestParam(required = false) String query,
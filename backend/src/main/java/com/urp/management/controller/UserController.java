@@ -1,24 +1,39 @@
 package com.urp.management.controller;
 
+import com.urp.management.domain.enums.DataFormat;
 import com.urp.management.domain.enums.UserStatus;
 import com.urp.management.dto.request.AdminResetPasswordRequest;
 import com.urp.management.dto.request.AssignRoleRequest;
+import com.urp.management.dto.request.BulkUserLifecycleRequest;
 import com.urp.management.dto.request.CreateUserRequest;
 import com.urp.management.dto.request.UpdatePasswordRequest;
 import com.urp.management.dto.request.UpdateUserProfileRequest;
+import com.urp.management.dto.response.CursorPageResponse;
+import com.urp.management.dto.response.UserImportResponse;
+import com.urp.management.dto.response.UserLifecycleJobResponse;
 import com.urp.management.dto.response.UserResponse;
 import com.urp.management.dto.response.UserRoleResponse;
+import com.urp.management.service.UserExportService;
+import com.urp.management.service.UserImportService;
+import com.urp.management.service.UserLifecycleJobService;
 import com.urp.management.service.UserService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/admin/users")
@@ -27,8 +42,12 @@ import java.time.LocalDateTime;
 public class UserController {
     
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final UserExportService userExportService;
+    private final UserLifecycleJobService userLifecycleJobService;
     
     @GetMapping
+    @PreAuthorize("#tenantId == null ? hasAuthority('users.read') : hasPermission(#tenantId, 'TENANT', 'users.read')")
     public ResponseEntity<Page<UserResponse>> searchUsers(
             @RequestParam(required = false) String query,
             @RequestParam(required = false) UserStatus status,
@@ -38,6 +57,58 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
     
+    @GetMapping("/cursor")
+    @PreAuthorize("#tenantId == null ? hasAuthority('users.read') : hasPermission(#tenantId, 'TENANT', 'users.read')")
+    public ResponseEntity<CursorPageResponse<UserResponse>> scrollUsers(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) UserStatus status,
+            @RequestParam(required = false) Long tenantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(200) int size) {
+        CursorPageResponse<UserResponse> users = userService.scrollUsers(query, status, tenantId, cursor, size);
+        return ResponseEntity.ok(users);
+    }
+    
+    @GetMapping("/search")
+    @PreAuthorize("#tenantId == null ? hasAuthority('users.read') : hasPermission(#tenantId, 'TENANT', 'users.read')")
+    public ResponseEntity<List<UserResponse>> lookupUsers(
+            @RequestParam String query,
+            @RequestParam(required = false) UserStatus status,
+            @RequestParam(required = false) Long tenantId,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        List<UserResponse> users = userService.lookupUsers(query, status, tenantId, limit);
+        return ResponseEntity.ok(users);
+    }
+    
+    @GetMapping("/export")
+    @PreAuthorize("#tenantId == null ? hasAuthority('users.read') : hasPermission(#tenantId, 'TENANT', 'users.read')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) UserStatus status,
+            @RequestParam(required = false) Long tenantId,
+            @RequestParam(defaultValue = "NDJSON") DataFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzipEncoding = !gzip && ExportResponses.acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = userExportService.export(query, status, tenantId, format, gzip || gzipEncoding);
+        return ExportResponses.export("users", format, gzip, gzipEncoding, body);
+    }
+    
+    @PostMapping("/lifecycle-jobs")
+    @PreAuthorize("hasAuthority('users.write') and hasAuthority('users.ban')")
+    public ResponseEntity<UserLifecycleJobResponse> startLifecycleJob(
+            @Valid @RequestBody BulkUserLifecycleRequest request) {
+        UserLifecycleJobResponse job = userLifecycleJobService.submit(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+    
+    @GetMapping("/lifecycle-jobs/{jobId}")
+    @PreAuthorize("hasAuthority('users.write') and hasAuthority('users.ban')")
+    public ResponseEntity<UserLifecycleJobResponse> getLifecycleJob(@PathVariable String jobId) {
+        UserLifecycleJobResponse job = userLifecycleJobService.getJob(jobId);
+        return ResponseEntity.ok(job);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
         UserResponse user = userService.getUserById(id);
@@ -51,6 +122,18 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(user);
     }
     
+    // CSV: header row, then RFC 4180 records (quoted values may span lines); NDJSON: one object per line
+    @PostMapping("/import")
+    @PreAuthorize("#tenantId == null ? hasAuthority('users.write') : hasPermission(#tenantId, 'TENANT', 'users.write')")
+    public ResponseEntity<UserImportResponse> importUsers(
+            @RequestParam(defaultValue = "CSV") DataFormat format,
+            @RequestParam(required = false) Long tenantId,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            InputStream body) throws IOException {
+        UserImportResponse report = userImportService.importUsers(body, format, tenantId, gzip);
+        return ResponseEntity.ok(report);
+    }
+    
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasAuthority('users.write')")
     public ResponseEntity<UserResponse> updateUserStatus(
@@ -0,0 +1,39 @@
+package com.urp.management.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Number of audit events per hour, action and tenant. Tenant 0 collects events without a tenant.
+ */
+@Entity
+@Table(name = "audit_activity_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_audit_rollup_bucket", columnNames = {"bucket_start", "action", "tenant_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditActivityRollup {
+    
+    public static final long NO_TENANT = 0L;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(nullable = false)
+    private String action;
+    
+    @Column(nullable = false)
+    private Long tenantId;
+    
+    @Column(nullable = false)
+    private Long eventCount;
+}
@@ -10,8 +10,11 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "audit_logs", indexes = {
     @Index(name = "idx_audit_tenant", columnList = "tenant_id"),
-    @Index(name = "idx_audit_actor", columnList = "actor_user_id"),
-    @Index(name = "idx_audit_created", columnList = "created_at")
+    // Descending: every reader wants newest first, and H2 cannot walk an index backwards
+    @Index(name = "idx_audit_created", columnList = "created_at DESC, id DESC"),
+    @Index(name = "idx_audit_actor_created", columnList = "actor_user_id, created_at"),
+    @Index(name = "idx_audit_target_created", columnList = "target_type, target_id, created_at"),
+    @Index(name = "idx_audit_action_created", columnList = "action, created_at")
 })
 @Getter
 @Setter
@@ -22,7 +25,8 @@ import java.time.LocalDateTime;
 public class AuditLog {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_logs_seq")
+    @SequenceGenerator(name = "audit_logs_seq", sequenceName = "audit_logs_seq", allocationSize = Ids.ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne
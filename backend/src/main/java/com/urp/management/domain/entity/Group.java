@@ -22,7 +22,8 @@ import java.util.Set;
 public class Group {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "groups_seq")
+    @SequenceGenerator(name = "groups_seq", sequenceName = "groups_seq", allocationSize = Ids.ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne
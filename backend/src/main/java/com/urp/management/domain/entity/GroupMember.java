@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class GroupMember {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "group_members_seq")
+    @SequenceGenerator(name = "group_members_seq", sequenceName = "group_members_seq", allocationSize = Ids.ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne
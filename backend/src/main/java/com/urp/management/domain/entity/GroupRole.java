@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class GroupRole {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "group_roles_seq")
+    @SequenceGenerator(name = "group_roles_seq", sequenceName = "group_roles_seq", allocationSize = Ids.ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne
@@ -43,4 +44,6 @@ public class GroupRole {
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime grantedAt;
+    
+    private LocalDateTime expiresAt;
 }
@@ -0,0 +1,14 @@
+package com.urp.management.domain.entity;
+
+/**
+ * Id generation settings shared by the entity mappings and the JDBC writers that draw from the
+ * same sequences.
+ */
+public final class Ids {
+    
+    /** Increment of every entity sequence; the JPA default allocationSize */
+    public static final int ALLOCATION_SIZE = 50;
+    
+    private Ids() {
+    }
+}
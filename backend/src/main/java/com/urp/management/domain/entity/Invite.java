@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class Invite {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invites_seq")
+    @SequenceGenerator(name = "invites_seq", sequenceName = "invites_seq", allocationSize = Ids.ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class MfaFactor {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mfa_factors_seq")
+    @SequenceGenerator(name = "mfa_factors_seq", sequenceName = "mfa_factors_seq", allocationSize = Ids.ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne
@@ -15,7 +15,8 @@ import lombok.*;
 public class Permission {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "permissions_seq")
+    @SequenceGenerator(name = "permissions_seq", sequenceName = "permissions_seq", allocationSize = Ids.ALLOCATION_SIZE)
     private Long id;
     
     @Column(name = "permission_key", nullable = false, unique = true)
@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 public class Session {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sessions_seq")
+    @SequenceGenerator(name = "sessions_seq", sequenceName = "sessions_seq", allocationSize = Ids.ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false, unique = true)
@@ -15,7 +15,8 @@ import java.util.Set;
 @Table(name = "users", indexes = {
     @Index(name = "idx_user_email", columnList = "email"),
     @Index(name = "idx_user_username", columnList = "username"),
-    @Index(name = "idx_user_tenant", columnList = "tenant_id")
+    @Index(name = "idx_user_tenant", columnList = "tenant_id"),
+    @Index(name = "idx_user_created", columnList = "created_at, id")
 })
 @Getter
 @Setter
@@ -26,10 +27,11 @@ import java.util.Set;
 public class User {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = Ids.ALLOCATION_SIZE)
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tenant_id")
     private Tenant tenant;
     
@@ -83,6 +85,10 @@ public class User {
     @Column(columnDefinition = "TEXT")
     private String supportNotes;
     
+    @Column(nullable = false)
+    @Builder.Default
+    private Long authorityVersion = 0L;
+    
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private Set<UserRole> userRoles = new HashSet<>();
@@ -22,10 +22,11 @@ import java.time.LocalDateTime;
 public class UserRole {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_roles_seq")
+    @SequenceGenerator(name = "user_roles_seq", sequenceName = "user_roles_seq", allocationSize = Ids.ALLOCATION_SIZE)
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
@@ -39,7 +40,7 @@ public class UserRole {
     
     private String scopeId;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "granted_by")
     private User grantedBy;
     
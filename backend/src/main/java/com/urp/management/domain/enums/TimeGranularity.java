@@ -0,0 +1,6 @@
+package com.urp.management.domain.enums;
+
+public enum TimeGranularity {
+    HOUR,
+    DAY
+}
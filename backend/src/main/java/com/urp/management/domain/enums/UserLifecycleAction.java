@@ -0,0 +1,7 @@
+package com.urp.management.domain.enums;
+
+public enum UserLifecycleAction {
+    SET_STATUS,
+    BAN,
+    UNBAN
+}
@@ -0,0 +1,33 @@
+package com.urp.management.dto.request;
+
+import com.urp.management.domain.enums.ScopeType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class AuthzCheckRequest {
+    
+    @NotEmpty(message = "At least one check is required")
+    @Size(max = 1000, message = "At most 1000 checks per request")
+    private List<@Valid Check> checks;
+    
+    @Data
+    public static class Check {
+        
+        @NotNull(message = "User ID is required")
+        private Long userId;
+        
+        @NotBlank(message = "Permission is required")
+        private String permission;
+        
+        private ScopeType scopeType;
+        
+        private String scopeId;
+    }
+}
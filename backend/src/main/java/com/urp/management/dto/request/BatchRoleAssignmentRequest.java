@@ -0,0 +1,25 @@
+package com.urp.management.dto.request;
+
+import com.urp.management.domain.enums.ScopeType;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class BatchRoleAssignmentRequest {
+    
+    @NotEmpty(message = "User IDs are required")
+    @Size(max = 10000, message = "At most 10000 users per batch")
+    private List<@NotNull Long> userIds;
+    
+    @NotNull(message = "Scope type is required")
+    private ScopeType scopeType;
+    
+    private String scopeId;
+    
+    private LocalDateTime expiresAt;
+}
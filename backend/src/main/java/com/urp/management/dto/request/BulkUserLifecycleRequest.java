@@ -0,0 +1,46 @@
+package com.urp.management.dto.request;
+
+import com.urp.management.domain.enums.UserLifecycleAction;
+import com.urp.management.domain.enums.UserStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class BulkUserLifecycleRequest {
+    
+    @NotNull(message = "Action is required")
+    private UserLifecycleAction action;
+    
+    @Size(max = 100000, message = "At most 100000 user IDs per job")
+    private List<@NotNull Long> userIds;
+    
+    @Valid
+    private Filter filter;
+    
+    private UserStatus targetStatus;
+    
+    @Size(max = 500, message = "Ban reason must be at most 500 characters")
+    private String banReason;
+    
+    private LocalDateTime banExpiresAt;
+    
+    private boolean dryRun;
+    
+    private Long confirmTotal;
+    
+    @Data
+    public static class Filter {
+        private String query;
+        private UserStatus status;
+        private Long tenantId;
+        
+        public boolean isEmpty() {
+            return (query == null || query.isBlank()) && status == null && tenantId == null;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.urp.management.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class CreateGroupRequest {
+    
+    @NotBlank(message = "Group name is required")
+    private String name;
+    
+    private String description;
+    
+    private Long tenantId;
+    
+    private Long parentGroupId;
+}
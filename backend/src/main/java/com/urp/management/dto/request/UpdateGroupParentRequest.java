@@ -0,0 +1,9 @@
+package com.urp.management.dto.request;
+
+import lombok.Data;
+
+@Data
+public class UpdateGroupParentRequest {
+    
+    private Long parentGroupId;
+}
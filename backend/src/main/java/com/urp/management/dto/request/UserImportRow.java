@@ -0,0 +1,34 @@
+package com.urp.management.dto.request;
+
+import com.urp.management.domain.enums.UserStatus;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class UserImportRow {
+    
+    @NotBlank(message = "Email is required")
+    @Email(message = "Invalid email format")
+    private String email;
+    
+    @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    private String username;
+    
+    @Size(min = 8, message = "Password must be at least 8 characters")
+    private String password;
+    
+    /** Existing BCrypt hash, for users migrated from another system; used instead of password */
+    private String passwordHash;
+    
+    private String displayName;
+    
+    private String phone;
+    
+    private UserStatus status;
+    
+    private String locale;
+    
+    private String timezone;
+}
@@ -0,0 +1,19 @@
+package com.urp.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityPointResponse {
+    private LocalDateTime bucketStart;
+    private String action;
+    private Long tenantId;
+    private Long count;
+}
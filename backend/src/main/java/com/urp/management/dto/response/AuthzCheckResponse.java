@@ -0,0 +1,17 @@
+package com.urp.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthzCheckResponse {
+    // One entry per requested check, in request order
+    private List<Boolean> results;
+}
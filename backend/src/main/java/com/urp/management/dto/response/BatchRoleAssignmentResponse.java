@@ -0,0 +1,17 @@
+package com.urp.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRoleAssignmentResponse {
+    private Long roleId;
+    private int requested;
+    private int applied;
+    private int skipped;
+}
@@ -1,10 +1,13 @@
 package com.urp.management.dto.response;
 
+import com.urp.management.domain.enums.UserStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -14,4 +17,6 @@ public class DashboardStatsResponse {
     private Long activeUsers;
     private Long activeRoles;
     private Long totalAuditLogs;
+    private Map<UserStatus, Long> usersByStatus;
+    private Map<Long, Long> usersByTenant;
 }
@@ -0,0 +1,31 @@
+package com.urp.management.dto.response;
+
+import com.urp.management.domain.enums.ScopeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EffectivePermissionsResponse {
+    private Long userId;
+    private List<String> permissions;
+    private List<ScopedPermissions> scoped;
+    private LocalDateTime expiresAt;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ScopedPermissions {
+        private ScopeType scopeType;
+        private String scopeId;
+        private List<String> permissions;
+    }
+}
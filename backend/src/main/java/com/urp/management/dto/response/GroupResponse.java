@@ -0,0 +1,25 @@
+package com.urp.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupResponse {
+    
+    private Long id;
+    private String name;
+    private String description;
+    private Long tenantId;
+    private Long parentGroupId;
+    private LocalDateTime createdAt;
+    private Integer memberCount;
+    private List<GroupRoleResponse> roles;
+}
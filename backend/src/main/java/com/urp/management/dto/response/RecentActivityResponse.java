@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 public class RecentActivityResponse {
     private Long id;
     private String action;
+    private String targetType;
     private String description;
     private LocalDateTime timestamp;
     private String actorEmail;
@@ -0,0 +1,32 @@
+package com.urp.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResponse {
+    private long total;
+    private long created;
+    private long skipped;
+    private long failed;
+    private long durationMs;
+    private List<RowResult> rejected;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowResult {
+        private long row;
+        private String email;
+        private String status;
+        private String message;
+    }
+}
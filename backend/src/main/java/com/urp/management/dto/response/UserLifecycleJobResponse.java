@@ -0,0 +1,31 @@
+package com.urp.management.dto.response;
+
+import com.urp.management.domain.enums.UserLifecycleAction;
+import com.urp.management.domain.enums.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLifecycleJobResponse {
+    private String id;
+    private UserLifecycleAction action;
+    private UserStatus targetStatus;
+    private String state;
+    private long total;
+    private long processed;
+    private long updated;
+    private long skipped;
+    private long sessionsRevoked;
+    private int chunks;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
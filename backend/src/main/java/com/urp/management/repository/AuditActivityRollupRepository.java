@@ -0,0 +1,18 @@
+package com.urp.management.repository;
+
+import com.urp.management.domain.entity.AuditActivityRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AuditActivityRollupRepository extends JpaRepository<AuditActivityRollup, Long>,
+        JpaSpecificationExecutor<AuditActivityRollup> {
+    
+    @Query("SELECT COALESCE(SUM(r.eventCount), 0) FROM AuditActivityRollup r WHERE r.bucketStart >= :since")
+    long sumEventCountSince(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,31 @@
+package com.urp.management.repository;
+
+import com.urp.management.domain.entity.AuditActivityRollup;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class AuditActivityRollupSpecifications {
+    
+    private AuditActivityRollupSpecifications() {
+    }
+    
+    public static Specification<AuditActivityRollup> matching(LocalDateTime from, LocalDateTime to,
+                                                              String action, Long tenantId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.greaterThanOrEqualTo(root.get("bucketStart"), from));
+            predicates.add(cb.lessThan(root.get("bucketStart"), to));
+            if (action != null) {
+                predicates.add(cb.equal(root.get("action"), action));
+            }
+            if (tenantId != null) {
+                predicates.add(cb.equal(root.get("tenantId"), tenantId));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
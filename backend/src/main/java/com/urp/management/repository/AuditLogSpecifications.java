@@ -0,0 +1,66 @@
+package com.urp.management.repository;
+
+import com.urp.management.domain.entity.AuditLog;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Audit log filters that only emit predicates for the criteria actually supplied, so the
+ * planner sees plain equality/range conditions it can match against the composite indexes.
+ */
+public final class AuditLogSpecifications {
+    
+    private AuditLogSpecifications() {
+    }
+    
+    public static Specification<AuditLog> matching(Long actorUserId, String action,
+                                                   String targetType, String targetId,
+                                                   LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (actorUserId != null) {
+                predicates.add(cb.equal(root.get("actorUser").get("id"), actorUserId));
+            }
+            if (action != null) {
+                predicates.add(cb.equal(root.get("action"), action));
+            }
+            if (targetType != null) {
+                predicates.add(cb.equal(root.get("targetType"), targetType));
+            }
+            if (targetId != null) {
+                predicates.add(cb.equal(root.get("targetId"), targetId));
+            }
+            if (from != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), from));
+            }
+            if (to != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), to));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+    
+    /**
+     * Rows strictly after the given position in {@code (createdAt DESC, id DESC)} order.
+     */
+    public static Specification<AuditLog> before(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+    }
+    
+    public static Specification<AuditLog> fetchActor() {
+        return (root, query, cb) -> {
+            // Count queries cannot fetch
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("actorUser", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.urp.management.repository;
+
+import com.urp.management.domain.entity.GroupMember;
+import com.urp.management.security.GroupMembership;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GroupMemberRepository extends JpaRepository<GroupMember, Long> {
+    
+    Optional<GroupMember> findByGroupIdAndUserId(Long groupId, Long userId);
+    
+    boolean existsByGroupIdAndUserId(Long groupId, Long userId);
+    
+    @Query("SELECT new com.urp.management.security.GroupMembership(gm.group.id, gm.user.id) FROM GroupMember gm")
+    List<GroupMembership> findAllMemberships();
+}
@@ -1,7 +1,9 @@
 package com.urp.management.repository;
 
 import com.urp.management.domain.entity.Group;
+import com.urp.management.security.GroupEdge;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +16,9 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
     List<Group> findByParentGroupId(Long parentGroupId);
     
     List<Group> findByParentGroupIsNull();
+    
+    boolean existsByParentGroupId(Long parentGroupId);
+    
+    @Query("SELECT new com.urp.management.security.GroupEdge(g.id, p.id) FROM Group g LEFT JOIN g.parentGroup p")
+    List<GroupEdge> findAllEdges();
 }
@@ -0,0 +1,27 @@
+package com.urp.management.repository;
+
+import com.urp.management.domain.entity.GroupRole;
+import com.urp.management.domain.enums.ScopeType;
+import com.urp.management.security.GroupGrant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GroupRoleRepository extends JpaRepository<GroupRole, Long> {
+    
+    List<GroupRole> findByGroupId(Long groupId);
+    
+    Optional<GroupRole> findByIdAndGroupId(Long id, Long groupId);
+    
+    boolean existsByGroupIdAndRoleIdAndScopeTypeAndScopeId(Long groupId, Long roleId,
+                                                           ScopeType scopeType, String scopeId);
+    
+    @Query("SELECT new com.urp.management.security.GroupGrant(gr.id, gr.group.id, gr.role.id, gr.scopeType, gr.scopeId, " +
+           "gr.expiresAt) " +
+           "FROM GroupRole gr")
+    List<GroupGrant> findAllGrants();
+}
@@ -0,0 +1,58 @@
+package com.urp.management.repository;
+
+import com.urp.management.domain.entity.Ids;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out ids for rows written with plain JDBC, drawing from the same sequences Hibernate
+ * uses for the entities. Both follow the pooled-lo scheme: a sequence value {@code v} reserves
+ * {@code v .. v + Ids.ALLOCATION_SIZE - 1} for whoever fetched it, so they never collide.
+ */
+@Component
+public class IdAllocator {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private volatile Boolean postgres;
+    
+    public IdAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    public long[] allocate(String sequence, int count) {
+        long[] ids = new long[count];
+        Block block = blocks.computeIfAbsent(sequence, key -> new Block());
+        synchronized (block) {
+            for (int i = 0; i < count; i++) {
+                if (block.next >= block.end) {
+                    block.next = nextValue(sequence);
+                    block.end = block.next + Ids.ALLOCATION_SIZE;
+                }
+                ids[i] = block.next++;
+            }
+        }
+        return ids;
+    }
+    
+    private long nextValue(String sequence) {
+        if (postgres == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            postgres = product != null && product.toLowerCase().contains("postgres");
+        }
+        String sql = postgres
+                ? "SELECT nextval('" + sequence + "')"
+                : "SELECT NEXT VALUE FOR " + sequence;
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+    
+    private static final class Block {
+        private long next;
+        private long end;
+    }
+}
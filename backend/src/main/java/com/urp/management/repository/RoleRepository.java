@@ -1,6 +1,7 @@
 package com.urp.management.repository;
 
 import com.urp.management.domain.entity.Role;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,6 +19,10 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     
     List<Role> findByTenantIdIsNull();
     
+    @EntityGraph(attributePaths = {"permissions"})
+    @Query("SELECT r FROM Role r")
+    List<Role> findAllWithPermissions();
+    
     @Query("SELECT r FROM Role r WHERE " +
            "(:tenantId IS NULL OR r.tenant.id = :tenantId OR r.tenant IS NULL) " +
            "ORDER BY r.name")
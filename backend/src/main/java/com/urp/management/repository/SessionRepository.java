@@ -2,9 +2,13 @@ package com.urp.management.repository;
 
 import com.urp.management.domain.entity.Session;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,5 +23,9 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
     
     List<Session> findByUserIdAndRevokedAtIsNullAndLastSeenAtAfter(Long userId, LocalDateTime threshold);
     
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Session s SET s.revokedAt = :revokedAt WHERE s.user.id IN :userIds AND s.revokedAt IS NULL")
+    int revokeByUserIdIn(@Param("userIds") Collection<Long> userIds, @Param("revokedAt") LocalDateTime revokedAt);
+    
     void deleteByRevokedAtBefore(LocalDateTime threshold);
 }
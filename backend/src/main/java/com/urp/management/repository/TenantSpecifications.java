@@ -0,0 +1,35 @@
+package com.urp.management.repository;
+
+import com.urp.management.domain.entity.Tenant;
+import com.urp.management.domain.enums.TenantStatus;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TenantSpecifications {
+    
+    private TenantSpecifications() {
+    }
+    
+    public static Specification<Tenant> matching(String query, TenantStatus status) {
+        return (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (query != null && !query.isBlank()) {
+                predicates.add(cb.like(cb.lower(root.get("name")), "%" + query.toLowerCase() + "%"));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+    
+    public static Specification<Tenant> before(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+    }
+}
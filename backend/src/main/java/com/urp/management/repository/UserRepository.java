@@ -2,20 +2,23 @@ package com.urp.management.repository;
 
 import com.urp.management.domain.entity.User;
 import com.urp.management.domain.enums.UserStatus;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     
-    @EntityGraph(attributePaths = {"userRoles", "userRoles.role", "userRoles.role.permissions"})
+    @EntityGraph(attributePaths = {"userRoles", "userRoles.role"})
     Optional<User> findByEmail(String email);
     
     Optional<User> findByUsername(String username);
@@ -26,14 +29,46 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     long countByTenantId(Long tenantId);
     
-    @Query("SELECT u FROM User u WHERE " +
-           "(:query IS NULL OR LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%')) " +
-           "OR LOWER(u.username) LIKE LOWER(CONCAT('%', :query, '%')) " +
-           "OR LOWER(u.displayName) LIKE LOWER(CONCAT('%', :query, '%'))) " +
-           "AND (:status IS NULL OR u.status = :status) " +
-           "AND (:tenantId IS NULL OR u.tenant.id = :tenantId)")
-    Page<User> searchUsers(@Param("query") String query,
-                          @Param("status") UserStatus status,
-                          @Param("tenantId") Long tenantId,
-                          Pageable pageable);
+    @Query("SELECT u.status, COUNT(u) FROM User u GROUP BY u.status")
+    List<Object[]> countGroupByStatus();
+    
+    @Query("SELECT t.id, COUNT(u) FROM User u LEFT JOIN u.tenant t GROUP BY t.id")
+    List<Object[]> countGroupByTenant();
+    
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+    
+    @Query("SELECT u.id, u.email FROM User u WHERE u.id IN :ids")
+    List<Object[]> findEmailsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT u.id, u.status FROM User u WHERE u.id IN :ids")
+    List<Object[]> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT u.authorityVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findAuthorityVersionById(@Param("id") Long id);
+    
+    @Query("SELECT u.id, u.authorityVersion FROM User u WHERE u.id IN :ids")
+    List<Object[]> findAuthorityVersionsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.authorityVersion = u.authorityVersion + 1 " +
+           "WHERE u.id IN (SELECT ur.user.id FROM UserRole ur WHERE ur.role.id = :roleId)")
+    int incrementAuthorityVersionByRoleId(@Param("roleId") Long roleId);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.authorityVersion = u.authorityVersion + 1 WHERE u.id IN :ids")
+    int incrementAuthorityVersionByIds(@Param("ids") Collection<Long> ids);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.status = :status, u.bannedAt = :bannedAt, u.banReason = :banReason, " +
+           "u.banExpiresAt = :banExpiresAt, u.updatedAt = :updatedAt WHERE u.id IN :ids")
+    int updateLifecycleByIds(@Param("ids") Collection<Long> ids,
+                             @Param("status") UserStatus status,
+                             @Param("bannedAt") LocalDateTime bannedAt,
+                             @Param("banReason") String banReason,
+                             @Param("banExpiresAt") LocalDateTime banExpiresAt,
+                             @Param("updatedAt") LocalDateTime updatedAt);
 }
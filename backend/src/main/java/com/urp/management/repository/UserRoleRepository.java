@@ -2,11 +2,14 @@ package com.urp.management.repository;
 
 import com.urp.management.domain.entity.UserRole;
 import com.urp.management.domain.enums.ScopeType;
+import com.urp.management.security.ScopedGrant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +18,10 @@ public interface UserRoleRepository extends JpaRepository<UserRole, Long> {
     
     List<UserRole> findByUserId(Long userId);
     
+    @Query("SELECT ur FROM UserRole ur JOIN FETCH ur.role LEFT JOIN FETCH ur.grantedBy " +
+           "WHERE ur.user.id IN :userIds")
+    List<UserRole> findWithRoleAndGranterByUserIdIn(@Param("userIds") Collection<Long> userIds);
+    
     Optional<UserRole> findByIdAndUserId(Long id, Long userId);
     
     @Query("SELECT ur FROM UserRole ur WHERE ur.user.id = :userId " +
@@ -24,6 +31,39 @@ public interface UserRoleRepository extends JpaRepository<UserRole, Long> {
                                        @Param("scopeType") ScopeType scopeType,
                                        @Param("scopeId") String scopeId);
     
+    @Query("SELECT new com.urp.management.security.ScopedGrant(ur.role.id, ur.scopeType, ur.scopeId, ur.expiresAt) " +
+           "FROM UserRole ur WHERE ur.user.id = :userId")
+    List<ScopedGrant> findGrantsByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Those of {@code userIds} that exist and do not yet hold the role in the given scope.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :userIds AND NOT EXISTS (" +
+           "SELECT 1 FROM UserRole ur WHERE ur.user.id = u.id AND ur.role.id = :roleId " +
+           "AND ur.scopeType = :scopeType " +
+           "AND (ur.scopeId = :scopeId OR (:scopeId IS NULL AND ur.scopeId IS NULL)))")
+    List<Long> findUserIdsWithoutGrant(@Param("roleId") Long roleId,
+                                       @Param("scopeType") ScopeType scopeType,
+                                       @Param("scopeId") String scopeId,
+                                       @Param("userIds") Collection<Long> userIds);
+    
+    @Query("SELECT DISTINCT ur.user.id FROM UserRole ur WHERE ur.user.id IN :userIds " +
+           "AND ur.role.id = :roleId AND ur.scopeType = :scopeType " +
+           "AND (ur.scopeId = :scopeId OR (:scopeId IS NULL AND ur.scopeId IS NULL))")
+    List<Long> findUserIdsWithGrant(@Param("roleId") Long roleId,
+                                    @Param("scopeType") ScopeType scopeType,
+                                    @Param("scopeId") String scopeId,
+                                    @Param("userIds") Collection<Long> userIds);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM UserRole ur WHERE ur.user.id IN :userIds " +
+           "AND ur.role.id = :roleId AND ur.scopeType = :scopeType " +
+           "AND (ur.scopeId = :scopeId OR (:scopeId IS NULL AND ur.scopeId IS NULL))")
+    int deleteGrants(@Param("roleId") Long roleId,
+                     @Param("scopeType") ScopeType scopeType,
+                     @Param("scopeId") String scopeId,
+                     @Param("userIds") Collection<Long> userIds);
+    
     void deleteByUserIdAndRoleId(Long userId, Long roleId);
     
     boolean existsByUserIdAndRoleIdAndScopeTypeAndScopeId(Long userId, Long roleId,
@@ -0,0 +1,70 @@
+package com.urp.management.repository;
+
+import com.urp.management.domain.entity.User;
+import com.urp.management.domain.enums.UserStatus;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public final class UserSpecifications {
+    
+    private UserSpecifications() {
+    }
+    
+    public static Specification<User> matching(String query, UserStatus status, Long tenantId) {
+        return (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (query != null && !query.isBlank()) {
+                String pattern = "%" + escapeLike(query.toLowerCase()) + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("email")), pattern, '\\'),
+                        cb.like(cb.lower(root.get("username")), pattern, '\\'),
+                        cb.like(cb.lower(root.get("displayName")), pattern, '\\')));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (tenantId != null) {
+                predicates.add(cb.equal(root.get("tenant").get("id"), tenantId));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+    
+    public static Specification<User> withIds(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+    
+    public static Specification<User> before(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+    }
+    
+    public static Specification<User> excludingId(Long id) {
+        return (root, query, cb) -> cb.notEqual(root.get("id"), id);
+    }
+    
+    public static Specification<User> afterId(Long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+    
+    public static Specification<User> fetchTenant() {
+        return (root, query, cb) -> {
+            // Count queries cannot fetch
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("tenant", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,334 @@
+package com.urp.management.search;
+
+import com.urp.management.domain.entity.User;
+import com.urp.management.domain.enums.UserStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Substring lookup over user email, username and display name. On PostgreSQL the columns get
+ * pg_trgm GIN indexes and the lookup stays in SQL; elsewhere an in-process trigram inverted
+ * index is built at startup and kept in sync by {@link #update}. Results are ranked the same on
+ * both paths: a field starting with the query first, then a word inside a field starting with
+ * it, then any match.
+ */
+@Slf4j
+@Component
+public class UserSearchIndex {
+    
+    private static final int GRAM = 3;
+    private static final String[] COLUMNS = {"email", "username", "display_name"};
+    /** Characters that start a new word inside a field, for both the SQL and the in-memory rank. */
+    private static final String WORD_SEPARATORS = " @.-_+";
+    private static final String SQL_RANK = "CASE WHEN " + anyColumnLike(1) + " THEN 0 WHEN "
+            + anyColumnLike(WORD_SEPARATORS.length()) + " THEN 1 ELSE 2 END";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private volatile boolean inMemory;
+    private volatile boolean ready;
+    
+    public UserSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        inMemory = product == null || !product.toLowerCase().contains("postgres");
+        
+        if (inMemory) {
+            rebuild();
+        } else {
+            createTrigramIndexes();
+        }
+        ready = true;
+    }
+    
+    /**
+     * Ids of users matching {@code query}, best matches first. Queries shorter than a trigram
+     * cannot use either index and are answered with a plain scan.
+     */
+    public List<Long> search(String query, UserStatus status, Long tenantId, int limit) {
+        String needle = query.trim().toLowerCase();
+        if (needle.isEmpty()) {
+            return List.of();
+        }
+        if (inMemory && ready && needle.length() >= GRAM) {
+            return searchInMemory(needle, status, tenantId, limit);
+        }
+        return searchInDatabase(needle, status, tenantId, limit);
+    }
+    
+    /**
+     * Re-indexes the user once the surrounding transaction commits.
+     */
+    public void update(User user) {
+        if (!inMemory) {
+            return;
+        }
+        Doc doc = new Doc(user.getId(), user.getTenant() != null ? user.getTenant().getId() : null,
+                user.getStatus(), lower(user.getEmail()), lower(user.getUsername()), lower(user.getDisplayName()));
+        runAfterCommit(() -> put(doc));
+    }
+    
+    /**
+     * Records a status change applied with a bulk update once the transaction commits.
+     */
+    public void updateStatus(Collection<Long> userIds, UserStatus status) {
+        if (!inMemory) {
+            return;
+        }
+        List<Long> ids = List.copyOf(userIds);
+        runAfterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                for (Long id : ids) {
+                    // Status is not indexed, only the document changes
+                    docs.computeIfPresent(id, (key, doc) -> new Doc(doc.id(), doc.tenantId(), status,
+                            doc.email(), doc.username(), doc.displayName()));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+    
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            postings.clear();
+            jdbcTemplate.query("SELECT id, tenant_id, status, email, username, display_name FROM users", rs -> {
+                long tenantId = rs.getLong("tenant_id");
+                put(new Doc(rs.getLong("id"), rs.wasNull() ? null : tenantId,
+                        UserStatus.valueOf(rs.getString("status")), lower(rs.getString("email")),
+                        lower(rs.getString("username")), lower(rs.getString("display_name"))));
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} users for search ({} trigrams)", docs.size(), postings.size());
+    }
+    
+    private void createTrigramIndexes() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_user_email_trgm ON users " +
+                    "USING gin (LOWER(email) gin_trgm_ops)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_user_username_trgm ON users " +
+                    "USING gin (LOWER(username) gin_trgm_ops)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_user_display_name_trgm ON users " +
+                    "USING gin (LOWER(display_name) gin_trgm_ops)");
+        } catch (DataAccessException e) {
+            // Lookups still work, but scan the table
+            log.warn("Could not create trigram indexes for user search: {}", e.getMessage());
+        }
+    }
+    
+    private List<Long> searchInDatabase(String needle, UserStatus status, Long tenantId, int limit) {
+        String escaped = escapeLike(needle);
+        String contains = "%" + escaped + "%";
+        
+        StringBuilder sql = new StringBuilder("SELECT id FROM users WHERE (").append(anyColumnLike(1)).append(")");
+        List<Object> args = new ArrayList<>(List.of(contains, contains, contains));
+        if (status != null) {
+            sql.append(" AND status = ?");
+            args.add(status.name());
+        }
+        if (tenantId != null) {
+            sql.append(" AND tenant_id = ?");
+            args.add(tenantId);
+        }
+        sql.append(" ORDER BY ").append(SQL_RANK).append(", LENGTH(email), id LIMIT ?");
+        args.addAll(Collections.nCopies(COLUMNS.length, escaped + "%"));
+        for (int i = 0; i < COLUMNS.length; i++) {
+            for (char separator : WORD_SEPARATORS.toCharArray()) {
+                args.add("%" + escapeLike(String.valueOf(separator)) + escaped + "%");
+            }
+        }
+        args.add(limit);
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+    }
+    
+    private List<Long> searchInMemory(String needle, UserStatus status, Long tenantId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : grams(needle)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return List.of();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            
+            // Walk the rarest trigram and probe the others; the trigrams only narrow the
+            // candidates, the substring check decides. Once limit prefix matches are in hand
+            // nothing later can outrank them, so the walk stops there
+            List<Ranked> matches = new ArrayList<>();
+            int prefixMatches = 0;
+            for (Long id : lists.get(0)) {
+                if (prefixMatches >= limit) {
+                    break;
+                }
+                if (!containsAll(lists, id)) {
+                    continue;
+                }
+                Doc doc = docs.get(id);
+                if (doc == null || (status != null && doc.status() != status)
+                        || (tenantId != null && !tenantId.equals(doc.tenantId()))) {
+                    continue;
+                }
+                int rank = doc.rank(needle);
+                if (rank >= 0) {
+                    matches.add(new Ranked(doc, rank));
+                    if (rank == 0) {
+                        prefixMatches++;
+                    }
+                }
+            }
+            return matches.stream()
+                    .sorted(Comparator.comparingInt(Ranked::rank)
+                            .thenComparingInt(ranked -> ranked.doc().email().length())
+                            .thenComparingLong(ranked -> ranked.doc().id()))
+                    .limit(limit)
+                    .map(ranked -> ranked.doc().id())
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void put(Doc doc) {
+        lock.writeLock().lock();
+        try {
+            Doc previous = docs.put(doc.id(), doc);
+            if (previous != null) {
+                for (String gram : previous.grams()) {
+                    postings.computeIfPresent(gram, (key, ids) -> {
+                        ids.remove(doc.id());
+                        return ids.isEmpty() ? null : ids;
+                    });
+                }
+            }
+            for (String gram : doc.grams()) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(doc.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * {@code LOWER(column) LIKE ?} for every column, repeated per pattern, joined with OR.
+     */
+    private static String anyColumnLike(int patternsPerColumn) {
+        List<String> terms = new ArrayList<>();
+        for (String column : COLUMNS) {
+            for (int i = 0; i < patternsPerColumn; i++) {
+                terms.add("LOWER(" + column + ") LIKE ? ESCAPE '\\'");
+            }
+        }
+        return String.join(" OR ", terms);
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+    
+    private static boolean containsAll(List<Set<Long>> lists, Long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+    
+    private static String lower(String value) {
+        return value != null ? value.toLowerCase() : "";
+    }
+    
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    private record Doc(long id, Long tenantId, UserStatus status, String email, String username,
+                       String displayName) {
+        
+        Set<String> grams() {
+            Set<String> grams = UserSearchIndex.grams(email);
+            grams.addAll(UserSearchIndex.grams(username));
+            grams.addAll(UserSearchIndex.grams(displayName));
+            return grams;
+        }
+        
+        /**
+         * 0 when a field starts with the needle, 1 when a word inside a field does, 2 for any
+         * other occurrence and -1 when no field contains it.
+         */
+        int rank(String needle) {
+            int best = -1;
+            for (String field : new String[]{email, username, displayName}) {
+                int index = field.indexOf(needle);
+                while (index >= 0) {
+                    int rank = index == 0 ? 0 : WORD_SEPARATORS.indexOf(field.charAt(index - 1)) >= 0 ? 1 : 2;
+                    if (best < 0 || rank < best) {
+                        best = rank;
+                    }
+                    if (best == 0) {
+                        return 0;
+                    }
+                    index = field.indexOf(needle, index + 1);
+                }
+            }
+            return best;
+        }
+    }
+    
+    private record Ranked(Doc doc, int rank) {
+    }
+}
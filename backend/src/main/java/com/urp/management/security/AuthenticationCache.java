@@ -0,0 +1,126 @@
+package com.urp.management.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of verified access tokens. Entries are keyed by the SHA-256 digest of the
+ * token, hold the ready-made {@link Authentication} and expire together with the token.
+ */
+@Component
+public class AuthenticationCache {
+
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> digestsByUser = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public AuthenticationCache(@Value("${app.security.token-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Authentication get(String token) {
+        String digest = digest(token);
+        Entry entry = entries.get(digest);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            remove(digest, entry);
+            return null;
+        }
+        return entry.authentication();
+    }
+
+    /**
+     * Returns a stamp to pass to {@link #put}; entries loaded before an invalidation are discarded.
+     */
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public void put(String token, Authentication authentication, Date expiresAt, long loadedAtGeneration) {
+        if (expiresAt == null || maxEntries <= 0
+                || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+
+        String digest = digest(token);
+        Entry entry = new Entry(authentication, principal.getUserId(), expiresAt.getTime());
+        digestsByUser.computeIfAbsent(entry.userId(), key -> ConcurrentHashMap.newKeySet())
+                .add(digest);
+        entries.put(digest, entry);
+
+        if (generation.get() != loadedAtGeneration) {
+            remove(digest, entry);
+        }
+    }
+
+    public void invalidateUser(Long userId) {
+        generation.incrementAndGet();
+        Set<String> digests = digestsByUser.remove(userId);
+        if (digests != null) {
+            digests.forEach(entries::remove);
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+        digestsByUser.clear();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.forEach((digest, entry) -> {
+            if (entry.expiresAt() <= now) {
+                remove(digest, entry);
+            }
+        });
+
+        // Still full: drop an arbitrary tenth so the next few puts don't evict again
+        int toDrop = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (toDrop-- > 0 && iterator.hasNext()) {
+            Map.Entry<String, Entry> next = iterator.next();
+            remove(next.getKey(), next.getValue());
+        }
+    }
+
+    private void remove(String digest, Entry entry) {
+        if (entries.remove(digest, entry)) {
+            digestsByUser.computeIfPresent(entry.userId(), (userId, digests) -> {
+                digests.remove(digest);
+                return digests.isEmpty() ? null : digests;
+            });
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(Authentication authentication, Long userId, long expiresAt) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.urp.management.security;
+
+import com.urp.management.domain.entity.Permission;
+import com.urp.management.domain.entity.Role;
+import com.urp.management.domain.entity.User;
+import com.urp.management.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Single entry point for services that change what a user is allowed to do. Bumps the
+ * persisted authority version and drops in-memory authorization state once the change commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthorityChangeNotifier {
+    
+    private static final int VERSION_UPDATE_CHUNK = 1000;
+    private static final int BULK_INVALIDATION_THRESHOLD = 1000;
+    
+    private final UserRepository userRepository;
+    private final AuthorityVersionTable authorityVersionTable;
+    private final AuthenticationCache authenticationCache;
+    private final CompiledAuthorizationModel authorizationModel;
+    private final ScopedPermissionIndex scopedPermissionIndex;
+    private final GroupClosure groupClosure;
+    
+    public void userChanged(User user) {
+        user.setAuthorityVersion(user.getAuthorityVersion() + 1);
+        
+        Long userId = user.getId();
+        runAfterCommit(() -> {
+            authenticationCache.invalidateUser(userId);
+            authorityVersionTable.evict(userId);
+            scopedPermissionIndex.evict(userId);
+        });
+    }
+    
+    /**
+     * Records that the authorities of the given users changed, e.g. through group membership.
+     */
+    public void usersChanged(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(userIds);
+        incrementAuthorityVersions(ids);
+        
+        runAfterCommit(() -> {
+            if (ids.size() > BULK_INVALIDATION_THRESHOLD) {
+                invalidateAll();
+                return;
+            }
+            ids.forEach(userId -> {
+                authenticationCache.invalidateUser(userId);
+                authorityVersionTable.evict(userId);
+                scopedPermissionIndex.evict(userId);
+            });
+        });
+    }
+    
+    public void roleChanged(Role role) {
+        Long roleId = role.getId();
+        List<String> permissionKeys = role.getPermissions().stream()
+                .map(Permission::getKey)
+                .toList();
+        userRepository.incrementAuthorityVersionByRoleId(roleId);
+        incrementAuthorityVersions(groupClosure.usersWithRole(roleId));
+        
+        runAfterCommit(() -> {
+            authorizationModel.compileRole(roleId, permissionKeys);
+            invalidateAll();
+        });
+    }
+    
+    public void roleDeleted(Long roleId) {
+        userRepository.incrementAuthorityVersionByRoleId(roleId);
+        incrementAuthorityVersions(groupClosure.usersWithRole(roleId));
+        
+        runAfterCommit(() -> {
+            authorizationModel.removeRole(roleId);
+            invalidateAll();
+        });
+    }
+    
+    private void incrementAuthorityVersions(Collection<Long> userIds) {
+        List<Long> ids = List.copyOf(userIds);
+        for (int from = 0; from < ids.size(); from += VERSION_UPDATE_CHUNK) {
+            userRepository.incrementAuthorityVersionByIds(ids.subList(from, Math.min(from + VERSION_UPDATE_CHUNK, ids.size())));
+        }
+    }
+    
+    private void invalidateAll() {
+        authenticationCache.invalidateAll();
+        authorityVersionTable.evictAll();
+        scopedPermissionIndex.evictAll();
+    }
+    
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.urp.management.security;
+
+import com.urp.management.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory view of {@code users.authority_version}. A self-contained access token, and any
+ * cached authentication, is only trusted while the version it was built with is still the
+ * user's current version. Bumps made on this node apply at once; bumps made by other nodes
+ * are seen after at most {@code app.security.authority-versions.refresh-interval-ms}, when the
+ * cached versions are re-read in bulk and updated in place. Requests never wait on that
+ * refresh, so a warm request costs no query.
+ */
+@Component
+public class AuthorityVersionTable {
+    
+    private static final long UNKNOWN_USER = -1L;
+    private static final int REFRESH_CHUNK = 1000;
+    
+    private final UserRepository userRepository;
+    private final int maxEntries;
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    
+    public AuthorityVersionTable(UserRepository userRepository,
+                                 @Value("${app.security.authority-versions.max-entries:100000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+    
+    public boolean isCurrent(Long userId, long authorityVersion) {
+        Long current = versions.get(userId);
+        if (current == null) {
+            current = load(userId);
+        }
+        return current == authorityVersion;
+    }
+    
+    public void evict(Long userId) {
+        generation.incrementAndGet();
+        versions.remove(userId);
+    }
+    
+    public void evictAll() {
+        generation.incrementAndGet();
+        versions.clear();
+    }
+    
+    // Picks up version bumps made by other nodes
+    @Scheduled(fixedDelayString = "${app.security.authority-versions.refresh-interval-ms:60000}")
+    public void refresh() {
+        Map<Long, Long> snapshot = new HashMap<>(versions);
+        List<Long> ids = new ArrayList<>(snapshot.keySet());
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + REFRESH_CHUNK, ids.size()));
+            Map<Long, Long> current = new HashMap<>();
+            for (Object[] row : userRepository.findAuthorityVersionsByIdIn(chunk)) {
+                current.put((Long) row[0], (Long) row[1]);
+            }
+            // Only replaces the value that was read; an entry evicted or reloaded since is left alone
+            for (Long userId : chunk) {
+                versions.replace(userId, snapshot.get(userId), current.getOrDefault(userId, UNKNOWN_USER));
+            }
+        }
+    }
+    
+    // Queried outside the map so lookups of other users never wait on it
+    private long load(Long userId) {
+        long loadedAtGeneration = generation.get();
+        long version = userRepository.findAuthorityVersionById(userId).orElse(UNKNOWN_USER);
+        if (versions.size() >= maxEntries) {
+            evictSome();
+        }
+        versions.putIfAbsent(userId, version);
+        if (generation.get() != loadedAtGeneration) {
+            versions.remove(userId, version);
+        }
+        return version;
+    }
+    
+    // Drops an arbitrary tenth so the next few loads don't evict again
+    private void evictSome() {
+        int toDrop = versions.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<Long> iterator = versions.keySet().iterator();
+        while (toDrop-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
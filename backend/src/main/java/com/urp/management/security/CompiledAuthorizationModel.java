@@ -0,0 +1,160 @@
+package com.urp.management.security;
+
+import com.urp.management.domain.entity.Permission;
+import com.urp.management.domain.entity.Role;
+import com.urp.management.repository.PermissionRepository;
+import com.urp.management.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Authorization model compiled to bitsets: every permission key owns a dense bit index and
+ * every role is reduced to the bitset of its permissions. Bit indexes are never reassigned,
+ * so {@link PermissionSet}s held by live principals stay valid across recompilations.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompiledAuthorizationModel {
+    
+    private final PermissionRepository permissionRepository;
+    private final RoleRepository roleRepository;
+    
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), List.of(), Map.of());
+    private volatile boolean compiled;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Snapshot current = snapshot;
+        Map<String, Integer> bits = new HashMap<>(current.bitByKey());
+        List<String> keys = new ArrayList<>(current.keyByBit());
+        
+        permissionRepository.findAll().stream()
+                .map(Permission::getKey)
+                .sorted()
+                .forEach(key -> assignBit(key, bits, keys));
+        
+        Map<Long, PermissionSet> roles = new HashMap<>();
+        for (Role role : roleRepository.findAllWithPermissions()) {
+            roles.put(role.getId(), compile(role.getPermissions().stream().map(Permission::getKey).toList(), bits, keys));
+        }
+        
+        snapshot = new Snapshot(Map.copyOf(bits), List.copyOf(keys), Map.copyOf(roles));
+        compiled = true;
+    }
+    
+    /**
+     * Recompiles a single role after its permissions changed.
+     */
+    public synchronized void compileRole(Long roleId, Collection<String> permissionKeys) {
+        Snapshot current = snapshot;
+        Map<String, Integer> bits = new HashMap<>(current.bitByKey());
+        List<String> keys = new ArrayList<>(current.keyByBit());
+        Map<Long, PermissionSet> roles = new HashMap<>(current.roleBits());
+        
+        roles.put(roleId, compile(permissionKeys, bits, keys));
+        snapshot = new Snapshot(Map.copyOf(bits), List.copyOf(keys), Map.copyOf(roles));
+    }
+    
+    public synchronized void removeRole(Long roleId) {
+        Snapshot current = snapshot;
+        Map<Long, PermissionSet> roles = new HashMap<>(current.roleBits());
+        roles.remove(roleId);
+        snapshot = new Snapshot(current.bitByKey(), current.keyByBit(), Map.copyOf(roles));
+    }
+    
+    /**
+     * Returns the bit index of the permission, or -1 if no such permission exists.
+     */
+    public int bitOf(String permissionKey) {
+        Integer bit = current().bitByKey().get(permissionKey);
+        return bit != null ? bit : -1;
+    }
+    
+    public boolean hasPermission(PermissionSet permissions, String permissionKey) {
+        return permissions.contains(bitOf(permissionKey));
+    }
+    
+    public PermissionSet permissionsOfRole(Long roleId) {
+        PermissionSet permissions = current().roleBits().get(roleId);
+        return permissions != null ? permissions : PermissionSet.EMPTY;
+    }
+    
+    public PermissionSet permissionsOfRoles(Collection<Long> roleIds) {
+        PermissionSet result = PermissionSet.EMPTY;
+        for (Long roleId : roleIds) {
+            result = result.or(permissionsOfRole(roleId));
+        }
+        return result;
+    }
+    
+    public PermissionSet permissionsOfKeys(Collection<String> permissionKeys) {
+        Map<String, Integer> bits = current().bitByKey();
+        long[] words = new long[wordCount(bits.size())];
+        for (String key : permissionKeys) {
+            Integer bit = bits.get(key);
+            if (bit != null) {
+                words[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return new PermissionSet(words);
+    }
+    
+    public List<String> keysOf(PermissionSet permissions) {
+        List<String> keyByBit = current().keyByBit();
+        List<String> keys = new ArrayList<>();
+        for (int bit = 0; bit < keyByBit.size(); bit++) {
+            if (permissions.contains(bit)) {
+                keys.add(keyByBit.get(bit));
+            }
+        }
+        return keys;
+    }
+    
+    public List<GrantedAuthority> authoritiesOf(PermissionSet permissions) {
+        return keysOf(permissions).stream()
+                .map(SimpleGrantedAuthority::new)
+                .map(GrantedAuthority.class::cast)
+                .toList();
+    }
+    
+    private Snapshot current() {
+        if (!compiled) {
+            rebuild();
+        }
+        return snapshot;
+    }
+    
+    private static PermissionSet compile(Collection<String> permissionKeys, Map<String, Integer> bits, List<String> keys) {
+        permissionKeys.forEach(key -> assignBit(key, bits, keys));
+        long[] words = new long[wordCount(keys.size())];
+        for (String key : permissionKeys) {
+            int bit = bits.get(key);
+            words[bit >>> 6] |= 1L << bit;
+        }
+        return new PermissionSet(words);
+    }
+    
+    private static void assignBit(String key, Map<String, Integer> bits, List<String> keys) {
+        if (!bits.containsKey(key)) {
+            bits.put(key, keys.size());
+            keys.add(key);
+        }
+    }
+    
+    private static int wordCount(int bitCount) {
+        return (bitCount + 63) >>> 6;
+    }
+    
+    private record Snapshot(Map<String, Integer> bitByKey, List<String> keyByBit, Map<Long, PermissionSet> roleBits) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.urp.management.security;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Supplier;
+
+/**
+ * Routes {@code @PreAuthorize} authority checks through the {@link CompiledAuthorizationModel}.
+ */
+public class CompiledSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+    
+    private final ObjectProvider<CompiledAuthorizationModel> authorizationModel;
+    
+    public CompiledSecurityExpressionHandler(ObjectProvider<CompiledAuthorizationModel> authorizationModel) {
+        this.authorizationModel = authorizationModel;
+    }
+    
+    @Override
+    public EvaluationContext createEvaluationContext(Supplier<Authentication> authentication, MethodInvocation mi) {
+        EvaluationContext context = super.createEvaluationContext(authentication, mi);
+        MethodSecurityExpressionOperations defaultRoot =
+                (MethodSecurityExpressionOperations) context.getRootObject().getValue();
+        ((StandardEvaluationContext) context).setRootObject(new CompiledSecurityExpressionRoot(
+                defaultRoot, authentication, authorizationModel.getObject()));
+        return context;
+    }
+}
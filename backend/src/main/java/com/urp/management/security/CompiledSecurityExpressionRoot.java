@@ -0,0 +1,143 @@
+package com.urp.management.security;
+
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Supplier;
+
+/**
+ * Expression root that answers {@code hasAuthority}/{@code hasAnyAuthority} with a bit test
+ * against the {@link PermissionSet} of a {@link UserPrincipal}. Everything else, and principals
+ * of other types, is handled by Spring's default root.
+ */
+public class CompiledSecurityExpressionRoot implements MethodSecurityExpressionOperations {
+    
+    private final MethodSecurityExpressionOperations delegate;
+    private final Supplier<Authentication> authentication;
+    private final CompiledAuthorizationModel authorizationModel;
+    
+    public CompiledSecurityExpressionRoot(MethodSecurityExpressionOperations delegate,
+                                          Supplier<Authentication> authentication,
+                                          CompiledAuthorizationModel authorizationModel) {
+        this.delegate = delegate;
+        this.authentication = authentication;
+        this.authorizationModel = authorizationModel;
+    }
+    
+    @Override
+    public boolean hasAuthority(String authority) {
+        PermissionSet permissions = permissions();
+        if (permissions == null) {
+            return delegate.hasAuthority(authority);
+        }
+        return authorizationModel.hasPermission(permissions, authority);
+    }
+    
+    @Override
+    public boolean hasAnyAuthority(String... authorities) {
+        PermissionSet permissions = permissions();
+        if (permissions == null) {
+            return delegate.hasAnyAuthority(authorities);
+        }
+        for (String authority : authorities) {
+            if (authorizationModel.hasPermission(permissions, authority)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private PermissionSet permissions() {
+        Authentication current = authentication.get();
+        if (current != null && current.getPrincipal() instanceof UserPrincipal principal
+                && principal.getPermissions() != null) {
+            return principal.getPermissions();
+        }
+        return null;
+    }
+    
+    public Object getPrincipal() {
+        Authentication current = authentication.get();
+        return current != null ? current.getPrincipal() : null;
+    }
+    
+    @Override
+    public Authentication getAuthentication() {
+        return delegate.getAuthentication();
+    }
+    
+    @Override
+    public boolean hasRole(String role) {
+        return delegate.hasRole(role);
+    }
+    
+    @Override
+    public boolean hasAnyRole(String... roles) {
+        return delegate.hasAnyRole(roles);
+    }
+    
+    @Override
+    public boolean permitAll() {
+        return delegate.permitAll();
+    }
+    
+    @Override
+    public boolean denyAll() {
+        return delegate.denyAll();
+    }
+    
+    @Override
+    public boolean isAnonymous() {
+        return delegate.isAnonymous();
+    }
+    
+    @Override
+    public boolean isAuthenticated() {
+        return delegate.isAuthenticated();
+    }
+    
+    @Override
+    public boolean isRememberMe() {
+        return delegate.isRememberMe();
+    }
+    
+    @Override
+    public boolean isFullyAuthenticated() {
+        return delegate.isFullyAuthenticated();
+    }
+    
+    @Override
+    public boolean hasPermission(Object target, Object permission) {
+        return delegate.hasPermission(target, permission);
+    }
+    
+    @Override
+    public boolean hasPermission(Object targetId, String targetType, Object permission) {
+        return delegate.hasPermission(targetId, targetType, permission);
+    }
+    
+    @Override
+    public void setFilterObject(Object filterObject) {
+        delegate.setFilterObject(filterObject);
+    }
+    
+    @Override
+    public Object getFilterObject() {
+        return delegate.getFilterObject();
+    }
+    
+    @Override
+    public void setReturnObject(Object returnObject) {
+        delegate.setReturnObject(returnObject);
+    }
+    
+    @Override
+    public Object getReturnObject() {
+        return delegate.getReturnObject();
+    }
+    
+    @Override
+    public Object getThis() {
+        return delegate.getThis();
+    }
+}
@@ -0,0 +1,44 @@
+package com.urp.management.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * The acting user of the current request, read from the {@link UserPrincipal} installed by the
+ * authentication filter. Services use it instead of looking the user up by email, so finding
+ * out who is acting costs no queries.
+ */
+public final class CurrentUser {
+    
+    private CurrentUser() {
+    }
+    
+    /**
+     * The principal, or {@code null} outside an authenticated request, e.g. during startup or on
+     * a background thread.
+     */
+    public static UserPrincipal principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal
+                : null;
+    }
+    
+    public static Long id() {
+        UserPrincipal principal = principal();
+        return principal != null ? principal.getUserId() : null;
+    }
+    
+    public static Long tenantId() {
+        UserPrincipal principal = principal();
+        return principal != null ? principal.getTenantId() : null;
+    }
+    
+    public static Long requireId() {
+        Long id = id();
+        if (id == null) {
+            throw new RuntimeException("Current user not found");
+        }
+        return id;
+    }
+}
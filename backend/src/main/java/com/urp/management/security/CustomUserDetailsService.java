@@ -3,41 +3,38 @@ package com.urp.management.security;
 import com.urp.management.domain.entity.User;
 import com.urp.management.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collection;
-import java.util.stream.Collectors;
-
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
     
     private final UserRepository userRepository;
+    private final CompiledAuthorizationModel authorizationModel;
+    private final ScopedPermissionIndex scopedPermissionIndex;
     
     @Override
     @Transactional(readOnly = true)
-    // ensure lazy associations (userRoles -> role -> permissions) can be fetched within a transaction
+    // load the user and their grants within one read-only transaction
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
         
-        return new org.springframework.security.core.userdetails.User(
+        // Only GLOBAL grants become authorities; scoped grants are checked through hasPermission
+        PermissionSet permissions = scopedPermissionIndex.globalPermissions(user.getId());
+        return new UserPrincipal(
+                user.getId(),
+                user.getTenant() != null ? user.getTenant().getId() : null,
                 user.getEmail(),
                 user.getPasswordHash(),
-                getAuthorities(user)
+                permissions,
+                authorizationModel.authoritiesOf(permissions),
+                user.getAuthorityVersion(),
+                scopedPermissionIndex.nextExpiry(user.getId())
         );
     }
-    
-    private Collection<? extends GrantedAuthority> getAuthorities(User user) {
-        return user.getUserRoles().stream()
-                .flatMap(userRole -> userRole.getRole().getPermissions().stream())
-                .map(permission -> new SimpleGrantedAuthority(permission.getKey()))
-                .collect(Collectors.toSet());
-    }
 }
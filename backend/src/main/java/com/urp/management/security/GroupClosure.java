@@ -0,0 +1,317 @@
+package com.urp.management.security;
+
+import com.urp.management.repository.GroupMemberRepository;
+import com.urp.management.repository.GroupRepository;
+import com.urp.management.repository.GroupRoleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory group hierarchy with a materialized ancestor closure. A member of a group is
+ * implicitly a member of all its ancestors, so a user inherits the roles granted to every
+ * group on the path from each of their groups to its root. The closure is loaded once and
+ * then maintained incrementally by {@code GroupService}; writes are applied after the
+ * surrounding transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class GroupClosure {
+    
+    private final GroupRepository groupRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final GroupRoleRepository groupRoleRepository;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Long> parentOf = new HashMap<>();
+    private final Map<Long, Set<Long>> childrenOf = new HashMap<>();
+    private final Map<Long, Set<Long>> ancestorsOf = new HashMap<>();
+    private final Map<Long, Set<Long>> membersOf = new HashMap<>();
+    private final Map<Long, Set<Long>> groupsOfUser = new HashMap<>();
+    private final Map<Long, Map<Long, GroupGrant>> grantsOf = new HashMap<>();
+    private volatile boolean loaded;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        load(true);
+    }
+    
+    /**
+     * Queries outside the lock, then swaps the structures in under it. Unless forced, the result
+     * is dropped when another thread loaded first, so a racing first use cannot overwrite the
+     * updates applied since that load.
+     */
+    private void load(boolean force) {
+        List<GroupEdge> edges = groupRepository.findAllEdges();
+        List<GroupMembership> memberships = groupMemberRepository.findAllMemberships();
+        List<GroupGrant> grants = groupRoleRepository.findAllGrants();
+        
+        lock.writeLock().lock();
+        try {
+            if (!force && loaded) {
+                return;
+            }
+            parentOf.clear();
+            childrenOf.clear();
+            ancestorsOf.clear();
+            membersOf.clear();
+            groupsOfUser.clear();
+            grantsOf.clear();
+            
+            for (GroupEdge edge : edges) {
+                parentOf.put(edge.groupId(), edge.parentGroupId());
+                if (edge.parentGroupId() != null) {
+                    childrenOf.computeIfAbsent(edge.parentGroupId(), id -> new HashSet<>()).add(edge.groupId());
+                }
+            }
+            for (Long groupId : parentOf.keySet()) {
+                if (parentOf.get(groupId) == null) {
+                    recomputeAncestors(groupId);
+                }
+            }
+            memberships.forEach(m -> addMember(m.groupId(), m.userId()));
+            grants.forEach(g -> grantsOf.computeIfAbsent(g.groupId(), id -> new HashMap<>()).put(g.groupRoleId(), g));
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Returns the roles a user inherits through direct and nested group membership.
+     */
+    public List<ScopedGrant> grantsForUser(Long userId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Set<Long> groups = new HashSet<>();
+            for (Long groupId : groupsOfUser.getOrDefault(userId, Set.of())) {
+                groups.addAll(ancestorsOf.getOrDefault(groupId, Set.of(groupId)));
+            }
+            
+            Set<ScopedGrant> result = new LinkedHashSet<>();
+            for (Long groupId : groups) {
+                grantsOf.getOrDefault(groupId, Map.of()).values()
+                        .forEach(grant -> result.add(grant.toScopedGrant()));
+            }
+            return new ArrayList<>(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Returns the users that are members of the group or any of its descendants.
+     */
+    public Set<Long> membersOfSubtree(Long groupId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Set<Long> users = new HashSet<>();
+            for (Long descendant : subtree(groupId)) {
+                users.addAll(membersOf.getOrDefault(descendant, Set.of()));
+            }
+            return users;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Returns the users that inherit the role through any group.
+     */
+    public Set<Long> usersWithRole(Long roleId) {
+        ensureLoaded();
+        List<Long> grantingGroups = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            grantsOf.forEach((groupId, grants) -> {
+                if (grants.values().stream().anyMatch(grant -> grant.roleId().equals(roleId))) {
+                    grantingGroups.add(groupId);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        Set<Long> users = new HashSet<>();
+        grantingGroups.forEach(groupId -> users.addAll(membersOfSubtree(groupId)));
+        return users;
+    }
+    
+    public boolean wouldCreateCycle(Long groupId, Long newParentId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return newParentId != null
+                    && ancestorsOf.getOrDefault(newParentId, Set.of(newParentId)).contains(groupId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int memberCount(Long groupId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return membersOf.getOrDefault(groupId, Set.of()).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public void groupCreated(Long groupId, Long parentGroupId) {
+        afterCommit(() -> {
+            parentOf.put(groupId, parentGroupId);
+            if (parentGroupId != null) {
+                childrenOf.computeIfAbsent(parentGroupId, id -> new HashSet<>()).add(groupId);
+            }
+            recomputeAncestors(groupId);
+        });
+    }
+    
+    public void parentChanged(Long groupId, Long parentGroupId) {
+        afterCommit(() -> {
+            Long oldParent = parentOf.put(groupId, parentGroupId);
+            if (oldParent != null) {
+                childrenOf.getOrDefault(oldParent, new HashSet<>()).remove(groupId);
+            }
+            if (parentGroupId != null) {
+                childrenOf.computeIfAbsent(parentGroupId, id -> new HashSet<>()).add(groupId);
+            }
+            recomputeAncestors(groupId);
+        });
+    }
+    
+    public void groupDeleted(Long groupId) {
+        afterCommit(() -> {
+            Long parent = parentOf.remove(groupId);
+            if (parent != null) {
+                childrenOf.getOrDefault(parent, new HashSet<>()).remove(groupId);
+            }
+            childrenOf.remove(groupId);
+            ancestorsOf.remove(groupId);
+            grantsOf.remove(groupId);
+            Set<Long> members = membersOf.remove(groupId);
+            if (members != null) {
+                members.forEach(userId -> removeGroupOfUser(userId, groupId));
+            }
+        });
+    }
+    
+    public void memberAdded(Long groupId, Long userId) {
+        afterCommit(() -> addMember(groupId, userId));
+    }
+    
+    public void memberRemoved(Long groupId, Long userId) {
+        afterCommit(() -> {
+            Set<Long> members = membersOf.get(groupId);
+            if (members != null) {
+                members.remove(userId);
+            }
+            removeGroupOfUser(userId, groupId);
+        });
+    }
+    
+    public void grantAdded(GroupGrant grant) {
+        afterCommit(() -> grantsOf.computeIfAbsent(grant.groupId(), id -> new HashMap<>())
+                .put(grant.groupRoleId(), grant));
+    }
+    
+    public void grantRemoved(Long groupId, Long groupRoleId) {
+        afterCommit(() -> {
+            Map<Long, GroupGrant> grants = grantsOf.get(groupId);
+            if (grants != null) {
+                grants.remove(groupRoleId);
+            }
+        });
+    }
+    
+    private void addMember(Long groupId, Long userId) {
+        membersOf.computeIfAbsent(groupId, id -> new HashSet<>()).add(userId);
+        groupsOfUser.computeIfAbsent(userId, id -> new HashSet<>()).add(groupId);
+    }
+    
+    private void removeGroupOfUser(Long userId, Long groupId) {
+        Set<Long> groups = groupsOfUser.get(userId);
+        if (groups != null) {
+            groups.remove(groupId);
+            if (groups.isEmpty()) {
+                groupsOfUser.remove(userId);
+            }
+        }
+    }
+    
+    // Re-derives the ancestor sets of the group and everything below it, parents first
+    private void recomputeAncestors(Long groupId) {
+        Deque<Long> queue = new ArrayDeque<>();
+        queue.add(groupId);
+        while (!queue.isEmpty()) {
+            Long current = queue.poll();
+            Long parent = parentOf.get(current);
+            Set<Long> ancestors = new HashSet<>();
+            ancestors.add(current);
+            if (parent != null) {
+                ancestors.addAll(ancestorsOf.getOrDefault(parent, Set.of(parent)));
+            }
+            ancestorsOf.put(current, ancestors);
+            queue.addAll(childrenOf.getOrDefault(current, Set.of()));
+        }
+    }
+    
+    private Set<Long> subtree(Long groupId) {
+        Set<Long> result = new HashSet<>();
+        Deque<Long> queue = new ArrayDeque<>();
+        queue.add(groupId);
+        while (!queue.isEmpty()) {
+            Long current = queue.poll();
+            if (result.add(current)) {
+                queue.addAll(childrenOf.getOrDefault(current, Set.of()));
+            }
+        }
+        return result;
+    }
+    
+    private void ensureLoaded() {
+        if (!loaded) {
+            load(false);
+        }
+    }
+    
+    private void afterCommit(Runnable mutation) {
+        Runnable locked = () -> {
+            ensureLoaded();
+            lock.writeLock().lock();
+            try {
+                mutation.run();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    locked.run();
+                }
+            });
+        } else {
+            locked.run();
+        }
+    }
+}
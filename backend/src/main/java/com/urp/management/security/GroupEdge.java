@@ -0,0 +1,7 @@
+package com.urp.management.security;
+
+/**
+ * A group and its parent (null for root groups).
+ */
+public record GroupEdge(Long groupId, Long parentGroupId) {
+}
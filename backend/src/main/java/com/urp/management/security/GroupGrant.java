@@ -0,0 +1,17 @@
+package com.urp.management.security;
+
+import com.urp.management.domain.enums.ScopeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A role granted to a group, as held by {@link GroupClosure}. Members inherit it with the
+ * same expiry.
+ */
+public record GroupGrant(Long groupRoleId, Long groupId, Long roleId, ScopeType scopeType, String scopeId,
+                         LocalDateTime expiresAt) {
+    
+    public ScopedGrant toScopedGrant() {
+        return new ScopedGrant(roleId, scopeType, scopeId, expiresAt);
+    }
+}
@@ -0,0 +1,4 @@
+package com.urp.management.security;
+
+public record GroupMembership(Long groupId, Long userId) {
+}
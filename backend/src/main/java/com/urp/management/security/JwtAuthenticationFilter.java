@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -14,6 +15,11 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
 
 @Component
 @RequiredArgsConstructor
@@ -21,6 +27,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final AuthenticationCache authenticationCache;
+    private final AuthorityVersionTable authorityVersionTable;
+    private final ScopedPermissionIndex scopedPermissionIndex;
+    private final CompiledAuthorizationModel authorizationModel;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
     
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -29,17 +40,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt, 
-                    userDetailsService.loadUserByUsername(tokenProvider.extractUsername(jwt)))) {
-                
-                String username = tokenProvider.extractUsername(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (StringUtils.hasText(jwt)) {
+                Authentication authentication = authenticationCache.get(jwt);
+                if (authentication == null || !isCurrent(authentication)) {
+                    authentication = authenticate(jwt);
+                }
+                SecurityContextHolder.getContext().setAuthentication(withDetails(authentication, request));
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -48,6 +54,98 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    /**
+     * A cached authentication is only reused while its authority version is current, so a
+     * change made on another node is seen within the version table's refresh interval.
+     */
+    private boolean isCurrent(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof UserPrincipal principal
+                && !authorityVersionTable.isCurrent(principal.getUserId(), principal.getAuthorityVersion())) {
+            authenticationCache.invalidateUser(principal.getUserId());
+            scopedPermissionIndex.evict(principal.getUserId());
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * The cached authentication is shared by every request with the same token, so the
+     * request's details go on a copy of it.
+     */
+    private Authentication withDetails(Authentication authentication, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken perRequest = UsernamePasswordAuthenticationToken.authenticated(
+                authentication.getPrincipal(), null, authentication.getAuthorities());
+        perRequest.setDetails(detailsSource.buildDetails(request));
+        return perRequest;
+    }
+    
+    private Authentication authenticate(String jwt) {
+        long generation = authenticationCache.currentGeneration();
+        
+        // Parsing verifies the signature and rejects expired tokens
+        TokenClaims claims = tokenProvider.parseAndValidate(jwt);
+        UserDetails userDetails = principalFromClaims(claims);
+        if (userDetails == null) {
+            userDetails = userDetailsService.loadUserByUsername(claims.subject());
+        }
+        
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authenticationCache.put(jwt, authentication, cacheUntil(claims, userDetails), generation);
+        return authentication;
+    }
+    
+    private Date cacheUntil(TokenClaims claims, UserDetails userDetails) {
+        if (userDetails instanceof UserPrincipal principal && principal.getAuthoritiesExpireAt() != null) {
+            Date authoritiesExpireAt = Date.from(principal.getAuthoritiesExpireAt().atZone(ZoneId.systemDefault()).toInstant());
+            if (authoritiesExpireAt.before(claims.expiration())) {
+                return authoritiesExpireAt;
+            }
+        }
+        return claims.expiration();
+    }
+    
+    /**
+     * Trusts the authorities embedded in a self-contained token as long as the user's
+     * authority version has not been bumped since the token was issued.
+     */
+    private UserPrincipal principalFromClaims(TokenClaims claims) {
+        Object userId = claims.get(JwtTokenProvider.USER_ID_CLAIM);
+        Object version = claims.get(JwtTokenProvider.AUTHORITY_VERSION_CLAIM);
+        Object permissions = claims.get(JwtTokenProvider.PERMISSIONS_CLAIM);
+        if (!(userId instanceof Number) || !(version instanceof Number) || !(permissions instanceof String)) {
+            return null;
+        }
+        
+        Long id = ((Number) userId).longValue();
+        long authorityVersion = ((Number) version).longValue();
+        if (!authorityVersionTable.isCurrent(id, authorityVersion)) {
+            return null;
+        }
+        
+        // A grant baked into the token has expired since it was issued
+        LocalDateTime authoritiesExpireAt = null;
+        if (claims.get(JwtTokenProvider.AUTHORITIES_EXPIRE_CLAIM) instanceof Number expireAt) {
+            authoritiesExpireAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(expireAt.longValue()), ZoneId.systemDefault());
+            if (!authoritiesExpireAt.isAfter(LocalDateTime.now())) {
+                return null;
+            }
+        }
+        
+        Object tenantId = claims.get(JwtTokenProvider.TENANT_ID_CLAIM);
+        PermissionSet permissionSet = authorizationModel.permissionsOfKeys(
+                Arrays.asList(((String) permissions).split(" ")));
+        
+        return new UserPrincipal(id,
+                tenantId instanceof Number ? ((Number) tenantId).longValue() : null,
+                claims.subject(),
+                null,
+                permissionSet,
+                authorizationModel.authoritiesOf(permissionSet),
+                authorityVersion,
+                authoritiesExpireAt);
+    }
+    
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
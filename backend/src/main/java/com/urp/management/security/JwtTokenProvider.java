@@ -3,34 +3,66 @@ package com.urp.management.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenProvider {
     
-    @Value("${jwt.secret}")
-    private String secret;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String TENANT_ID_CLAIM = "tid";
+    public static final String PERMISSIONS_CLAIM = "perms";
+    public static final String AUTHORITY_VERSION_CLAIM = "av";
+    public static final String AUTHORITIES_EXPIRE_CLAIM = "pexp";
     
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private static final Set<String> REGISTERED_CLAIMS = Set.of(
+            Claims.ISSUER, Claims.SUBJECT, Claims.AUDIENCE, Claims.EXPIRATION,
+            Claims.NOT_BEFORE, Claims.ISSUED_AT, Claims.ID);
     
-    @Value("${jwt.refresh-expiration}")
-    private Long refreshExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expiration;
+    private final long refreshExpiration;
+    private final boolean embedAuthorities;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    public JwtTokenProvider(@Value("${jwt.secret}") String secret,
+                            @Value("${jwt.expiration}") long expiration,
+                            @Value("${jwt.refresh-expiration}") long refreshExpiration,
+                            @Value("${jwt.embed-authorities:false}") boolean embedAuthorities) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.expiration = expiration;
+        this.refreshExpiration = refreshExpiration;
+        this.embedAuthorities = embedAuthorities;
     }
     
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (embedAuthorities && userDetails instanceof UserPrincipal principal) {
+            claims.put(USER_ID_CLAIM, principal.getUserId());
+            claims.put(TENANT_ID_CLAIM, principal.getTenantId());
+            claims.put(PERMISSIONS_CLAIM, principal.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .sorted()
+                    .collect(Collectors.joining(" ")));
+            claims.put(AUTHORITY_VERSION_CLAIM, principal.getAuthorityVersion());
+            if (principal.getAuthoritiesExpireAt() != null) {
+                claims.put(AUTHORITIES_EXPIRE_CLAIM, principal.getAuthoritiesExpireAt()
+                        .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+        }
         return createToken(claims, userDetails.getUsername(), expiration);
     }
     
@@ -39,7 +71,7 @@ public class JwtTokenProvider {
         return createToken(claims, userDetails.getUsername(), refreshExpiration);
     }
     
-    private String createToken(Map<String, Object> claims, String subject, Long expiration) {
+    private String createToken(Map<String, Object> claims, String subject, long expiration) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
         
@@ -48,37 +80,25 @@ public class JwtTokenProvider {
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
     
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-    
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-    
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-    
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-    
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-    
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    /**
+     * Verifies the signature and expiry of the token and returns its claims.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public TokenClaims parseAndValidate(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        
+        Map<String, Object> customClaims = new HashMap<>();
+        claims.forEach((name, value) -> {
+            if (!REGISTERED_CLAIMS.contains(name)) {
+                customClaims.put(name, value);
+            }
+        });
+        
+        return new TokenClaims(claims.getSubject(), claims.getIssuedAt(), claims.getExpiration(), customClaims);
     }
 }
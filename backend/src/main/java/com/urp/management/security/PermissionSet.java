@@ -0,0 +1,74 @@
+package com.urp.management.security;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of permissions encoded as a bitset over the bit indexes assigned by
+ * {@link CompiledAuthorizationModel}.
+ */
+public final class PermissionSet {
+    
+    public static final PermissionSet EMPTY = new PermissionSet(new long[0]);
+    
+    private final long[] words;
+    
+    PermissionSet(long[] words) {
+        this.words = words;
+    }
+    
+    public boolean contains(int bit) {
+        int word = bit >>> 6;
+        return bit >= 0 && word < words.length && (words[word] & (1L << bit)) != 0;
+    }
+    
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public PermissionSet or(PermissionSet other) {
+        long[] longer = words.length >= other.words.length ? words : other.words;
+        long[] shorter = longer == words ? other.words : words;
+        long[] result = Arrays.copyOf(longer, longer.length);
+        for (int i = 0; i < shorter.length; i++) {
+            result[i] |= shorter[i];
+        }
+        return new PermissionSet(result);
+    }
+    
+    long[] words() {
+        return words;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PermissionSet other)) {
+            return false;
+        }
+        int length = Math.max(words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            long mine = i < words.length ? words[i] : 0L;
+            long theirs = i < other.words.length ? other.words[i] : 0L;
+            if (mine != theirs) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public int hashCode() {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.hashCode(Arrays.copyOf(words, length));
+    }
+}
@@ -0,0 +1,15 @@
+package com.urp.management.security;
+
+import com.urp.management.domain.enums.ScopeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A role granted to a user within a scope, as indexed by {@link ScopedPermissionIndex}.
+ */
+public record ScopedGrant(Long roleId, ScopeType scopeType, String scopeId, LocalDateTime expiresAt) {
+    
+    public boolean isActiveAt(LocalDateTime now) {
+        return expiresAt == null || expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,53 @@
+package com.urp.management.security;
+
+import com.urp.management.domain.enums.ScopeType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+
+import java.io.Serializable;
+
+/**
+ * Backs {@code hasPermission(#scopeId, 'TENANT', 'users.write')} expressions with the
+ * {@link ScopedPermissionIndex}. The two-argument form checks GLOBAL grants only.
+ */
+public class ScopedPermissionEvaluator implements PermissionEvaluator {
+    
+    private final ObjectProvider<ScopedPermissionIndex> permissionIndex;
+    
+    public ScopedPermissionEvaluator(ObjectProvider<ScopedPermissionIndex> permissionIndex) {
+        this.permissionIndex = permissionIndex;
+    }
+    
+    @Override
+    public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+        Long userId = userId(authentication);
+        return userId != null && permissionIndex.getObject()
+                .hasPermission(userId, ScopeType.GLOBAL, null, String.valueOf(permission));
+    }
+    
+    @Override
+    public boolean hasPermission(Authentication authentication, Serializable targetId,
+                                 String targetType, Object permission) {
+        Long userId = userId(authentication);
+        if (userId == null || targetType == null) {
+            return false;
+        }
+        
+        ScopeType scopeType;
+        try {
+            scopeType = ScopeType.valueOf(targetType.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return permissionIndex.getObject().hasPermission(userId, scopeType,
+                targetId != null ? targetId.toString() : null, String.valueOf(permission));
+    }
+    
+    private Long userId(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getUserId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,198 @@
+package com.urp.management.security;
+
+import com.urp.management.domain.enums.ScopeType;
+import com.urp.management.repository.UserRepository;
+import com.urp.management.repository.UserRoleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of user -> scope -> permission bitset. A user's grants are loaded once and
+ * compiled against the {@link CompiledAuthorizationModel}; expired grants are dropped by
+ * recompiling the cached grants when the earliest expiry passes, without going back to the
+ * database. GLOBAL grants apply to every scope, and roles inherited through groups count
+ * like direct grants. Cached grants carry the user's authority version and are reloaded once
+ * the {@link AuthorityVersionTable} reports a newer one. The index holds at most {@code app.security.permission-index.max-entries}
+ * users, and ids that do not belong to a user are answered without being cached.
+ */
+@Component
+public class ScopedPermissionIndex {
+    
+    private static final UserGrants NO_GRANTS = new UserGrants(-1L, List.of(), PermissionSet.EMPTY, Map.of(), null);
+    
+    private final UserRoleRepository userRoleRepository;
+    private final UserRepository userRepository;
+    private final AuthorityVersionTable authorityVersionTable;
+    private final CompiledAuthorizationModel authorizationModel;
+    private final GroupClosure groupClosure;
+    private final int maxEntries;
+    private final Map<Long, UserGrants> grantsByUser = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    
+    public ScopedPermissionIndex(UserRoleRepository userRoleRepository,
+                                 UserRepository userRepository,
+                                 AuthorityVersionTable authorityVersionTable,
+                                 CompiledAuthorizationModel authorizationModel,
+                                 GroupClosure groupClosure,
+                                 @Value("${app.security.permission-index.max-entries:10000}") int maxEntries) {
+        this.userRoleRepository = userRoleRepository;
+        this.userRepository = userRepository;
+        this.authorityVersionTable = authorityVersionTable;
+        this.authorizationModel = authorizationModel;
+        this.groupClosure = groupClosure;
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+    
+    public boolean hasPermission(Long userId, ScopeType scopeType, String scopeId, String permissionKey) {
+        int bit = authorizationModel.bitOf(permissionKey);
+        if (bit < 0 || userId == null) {
+            return false;
+        }
+        
+        UserGrants grants = grantsOf(userId);
+        if (grants.global().contains(bit)) {
+            return true;
+        }
+        if (scopeType == null || scopeType == ScopeType.GLOBAL) {
+            return false;
+        }
+        PermissionSet scoped = grants.scoped().get(new ScopeKey(scopeType, scopeId));
+        return scoped != null && scoped.contains(bit);
+    }
+    
+    public PermissionSet globalPermissions(Long userId) {
+        return grantsOf(userId).global();
+    }
+    
+    /**
+     * Returns when the earliest of the user's active grants expires, or null if none expire.
+     */
+    public LocalDateTime nextExpiry(Long userId) {
+        return grantsOf(userId).nextExpiry();
+    }
+    
+    public Map<ScopeKey, PermissionSet> scopedPermissions(Long userId) {
+        return grantsOf(userId).scoped();
+    }
+    
+    /**
+     * Whether the user holds at least one permission at TENANT scope. Grants at narrower scopes
+     * and roles without permissions, such as the basic "User" role, do not count.
+     */
+    public boolean hasTenantGrants(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        return grantsOf(userId).scoped().entrySet().stream()
+                .anyMatch(entry -> entry.getKey().scopeType() == ScopeType.TENANT && !entry.getValue().isEmpty());
+    }
+    
+    public void evict(Long userId) {
+        generation.incrementAndGet();
+        grantsByUser.remove(userId);
+    }
+    
+    public void evictAll() {
+        generation.incrementAndGet();
+        grantsByUser.clear();
+    }
+    
+    private UserGrants grantsOf(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        UserGrants grants = grantsByUser.get(userId);
+        if (grants != null && !authorityVersionTable.isCurrent(userId, grants.authorityVersion())) {
+            grantsByUser.remove(userId, grants);
+            grants = null;
+        }
+        if (grants == null) {
+            return load(userId, now);
+        }
+        if (grants.nextExpiry() != null && !grants.nextExpiry().isAfter(now)) {
+            UserGrants recompiled = compile(grants.authorityVersion(), grants.grants(), now);
+            grantsByUser.replace(userId, grants, recompiled);
+            return recompiled;
+        }
+        return grants;
+    }
+    
+    /**
+     * Loads outside of any map lock so concurrent lookups of other users never wait on the
+     * query. A load that raced with an eviction is returned but not kept.
+     */
+    private UserGrants load(Long userId, LocalDateTime now) {
+        long loadedAtGeneration = generation.get();
+        // Read before the grants: a bump in between leaves the entry looking stale, not current
+        Long authorityVersion = userRepository.findAuthorityVersionById(userId).orElse(null);
+        if (authorityVersion == null) {
+            return NO_GRANTS;
+        }
+        
+        UserGrants grants = compile(authorityVersion, loadGrants(userId), now);
+        if (grantsByUser.size() >= maxEntries) {
+            evictSome();
+        }
+        UserGrants existing = grantsByUser.putIfAbsent(userId, grants);
+        if (existing != null) {
+            return existing;
+        }
+        if (generation.get() != loadedAtGeneration) {
+            grantsByUser.remove(userId, grants);
+        }
+        return grants;
+    }
+    
+    // Drops an arbitrary tenth so the next few loads don't evict again
+    private void evictSome() {
+        int toDrop = grantsByUser.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<Long> iterator = grantsByUser.keySet().iterator();
+        while (toDrop-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+    
+    private List<ScopedGrant> loadGrants(Long userId) {
+        List<ScopedGrant> grants = new ArrayList<>(userRoleRepository.findGrantsByUserId(userId));
+        grants.addAll(groupClosure.grantsForUser(userId));
+        return grants;
+    }
+    
+    private UserGrants compile(long authorityVersion, List<ScopedGrant> grants, LocalDateTime now) {
+        PermissionSet global = PermissionSet.EMPTY;
+        Map<ScopeKey, PermissionSet> scoped = new HashMap<>();
+        LocalDateTime nextExpiry = null;
+        
+        for (ScopedGrant grant : grants) {
+            if (!grant.isActiveAt(now)) {
+                continue;
+            }
+            if (grant.expiresAt() != null && (nextExpiry == null || grant.expiresAt().isBefore(nextExpiry))) {
+                nextExpiry = grant.expiresAt();
+            }
+            
+            PermissionSet permissions = authorizationModel.permissionsOfRole(grant.roleId());
+            if (grant.scopeType() == ScopeType.GLOBAL) {
+                global = global.or(permissions);
+            } else {
+                scoped.merge(new ScopeKey(grant.scopeType(), grant.scopeId()), permissions, PermissionSet::or);
+            }
+        }
+        return new UserGrants(authorityVersion, List.copyOf(grants), global, Map.copyOf(scoped), nextExpiry);
+    }
+    
+    public record ScopeKey(ScopeType scopeType, String scopeId) {
+    }
+    
+    private record UserGrants(long authorityVersion, List<ScopedGrant> grants, PermissionSet global,
+                              Map<ScopeKey, PermissionSet> scoped, LocalDateTime nextExpiry) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.urp.management.security;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Verified contents of a JWT, produced once per token by {@link JwtTokenProvider#parseAndValidate}.
+ */
+public record TokenClaims(String subject, Date issuedAt, Date expiration, Map<String, Object> customClaims) {
+
+    public TokenClaims {
+        customClaims = Collections.unmodifiableMap(new HashMap<>(customClaims));
+    }
+
+    public Object get(String name) {
+        return customClaims.get(name);
+    }
+}
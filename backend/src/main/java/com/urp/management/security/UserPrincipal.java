@@ -0,0 +1,70 @@
+package com.urp.management.security;
+
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Authenticated user as seen by the security layer. Built either from the database by
+ * {@link CustomUserDetailsService} or from the claims of a self-contained access token.
+ */
+@Getter
+public class UserPrincipal implements UserDetails, CredentialsContainer {
+    
+    private final Long userId;
+    private final Long tenantId;
+    private final String email;
+    private String password;
+    private final PermissionSet permissions;
+    private final Set<GrantedAuthority> authorities;
+    private final long authorityVersion;
+    private final LocalDateTime authoritiesExpireAt;
+    
+    public UserPrincipal(Long userId, Long tenantId, String email, String password,
+                         PermissionSet permissions, Collection<? extends GrantedAuthority> authorities,
+                         long authorityVersion, LocalDateTime authoritiesExpireAt) {
+        this.userId = userId;
+        this.tenantId = tenantId;
+        this.email = email;
+        this.password = password;
+        this.permissions = permissions;
+        this.authorities = Set.copyOf(authorities);
+        this.authorityVersion = authorityVersion;
+        this.authoritiesExpireAt = authoritiesExpireAt;
+    }
+    
+    @Override
+    public String getUsername() {
+        return email;
+    }
+    
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+    
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+    
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+    
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
@@ -1,61 +1,105 @@
 package com.urp.management.service;
 
+import com.urp.management.audit.AuditEvent;
+import com.urp.management.audit.AuditPartitionManager;
+import com.urp.management.audit.AuditStreamHub;
+import com.urp.management.audit.AuditWriter;
 import com.urp.management.domain.entity.AuditLog;
-import com.urp.management.domain.entity.Tenant;
-import com.urp.management.domain.entity.User;
 import com.urp.management.dto.response.AuditLogResponse;
+import com.urp.management.dto.response.CursorPageResponse;
 import com.urp.management.repository.AuditLogRepository;
-import com.urp.management.repository.TenantRepository;
-import com.urp.management.repository.UserRepository;
+import com.urp.management.repository.AuditLogSpecifications;
 import jakarta.servlet.http.HttpServletRequest;
+import com.urp.management.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class AuditService {
     
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    
     private final AuditLogRepository auditLogRepository;
-    private final UserRepository userRepository;
-    private final TenantRepository tenantRepository;
+    private final AuditWriter auditWriter;
+    private final AuditPartitionManager auditPartitionManager;
+    private final AuditStreamHub auditStreamHub;
     
     public void log(String action, String targetType, String targetId, String diffJson, Long actorUserId) {
         HttpServletRequest request = getCurrentRequest();
         
-        AuditLog auditLog = AuditLog.builder()
-                .action(action)
-                .targetType(targetType)
-                .targetId(targetId)
-                .diffJson(diffJson)
-                .ipAddress(request != null ? getClientIp(request) : null)
-                .userAgent(request != null ? request.getHeader("User-Agent") : null)
-                .build();
-        
-        if (actorUserId != null) {
-            userRepository.findById(actorUserId)
-                    .ifPresent(auditLog::setActorUser);
-        }
-        
-        auditLogRepository.save(auditLog);
+        auditWriter.write(new AuditEvent(
+                null,
+                CurrentUser.tenantId(),
+                actorUserId,
+                action,
+                targetType,
+                targetId,
+                diffJson,
+                request != null ? getClientIp(request) : null,
+                request != null ? request.getHeader("User-Agent") : null,
+                LocalDateTime.now()));
     }
     
     public Page<AuditLogResponse> searchAuditLogs(Long actorUserId, String action, 
                                                   String targetType, String targetId,
                                                   LocalDateTime from, LocalDateTime to,
                                                   Pageable pageable) {
-        return auditLogRepository.searchAuditLogs(actorUserId, action, targetType, 
-                targetId, from, to, pageable)
+        Specification<AuditLog> spec = AuditLogSpecifications.matching(actorUserId, action, targetType,
+                targetId, auditPartitionManager.clampFrom(from), to);
+        Pageable newestFirst = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), NEWEST_FIRST);
+        return auditLogRepository.findAll(spec.and(AuditLogSpecifications.fetchActor()), newestFirst)
                 .map(this::mapToResponse);
     }
     
+    public CursorPageResponse<AuditLogResponse> scrollAuditLogs(Long actorUserId, String action,
+                                                                String targetType, String targetId,
+                                                                LocalDateTime from, LocalDateTime to,
+                                                                String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Specification<AuditLog> spec = AuditLogSpecifications.matching(actorUserId, action, targetType,
+                targetId, auditPartitionManager.clampFrom(from), to)
+                .and(AuditLogSpecifications.fetchActor());
+        if (after != null) {
+            spec = spec.and(AuditLogSpecifications.before(after.createdAt(), after.id()));
+        }
+        
+        // Fetch one extra row to learn whether another page exists without counting
+        List<AuditLog> logs = auditLogRepository.findBy(spec, query -> query
+                .sortBy(NEWEST_FIRST)
+                .limit(size + 1)
+                .all());
+        
+        boolean hasMore = logs.size() > size;
+        if (hasMore) {
+            logs = logs.subList(0, size);
+        }
+        AuditLog last = logs.isEmpty() ? null : logs.get(logs.size() - 1);
+        
+        return CursorPageResponse.<AuditLogResponse>builder()
+                .content(logs.stream().map(this::mapToResponse).toList())
+                .nextCursor(hasMore ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    public SseEmitter streamAuditLogs(String action, String targetType, Long tenantId) {
+        return auditStreamHub.subscribe(new AuditStreamHub.Filter(action, targetType, tenantId));
+    }
+    
     private AuditLogResponse mapToResponse(AuditLog log) {
         return AuditLogResponse.builder()
                 .id(log.getId())
@@ -0,0 +1,98 @@
+package com.urp.management.service;
+
+import com.urp.management.dto.request.AuthzCheckRequest;
+import com.urp.management.dto.response.AuthzCheckResponse;
+import com.urp.management.dto.response.EffectivePermissionsResponse;
+import com.urp.management.security.CompiledAuthorizationModel;
+import com.urp.management.security.PermissionSet;
+import com.urp.management.security.ScopedPermissionIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers authorization questions for other services straight from the in-memory
+ * {@link ScopedPermissionIndex}; only users not yet in the index cost a query.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuthzService {
+    
+    private final ScopedPermissionIndex scopedPermissionIndex;
+    private final CompiledAuthorizationModel authorizationModel;
+    
+    public AuthzCheckResponse check(AuthzCheckRequest request) {
+        List<Boolean> results = new ArrayList<>(request.getChecks().size());
+        for (AuthzCheckRequest.Check check : request.getChecks()) {
+            results.add(scopedPermissionIndex.hasPermission(
+                    check.getUserId(), check.getScopeType(), check.getScopeId(), check.getPermission()));
+        }
+        return AuthzCheckResponse.builder()
+                .results(results)
+                .build();
+    }
+    
+    public EffectivePermissionsResponse getEffectivePermissions(Long userId) {
+        List<EffectivePermissionsResponse.ScopedPermissions> scoped = scopedPermissionIndex.scopedPermissions(userId)
+                .entrySet().stream()
+                .map(entry -> EffectivePermissionsResponse.ScopedPermissions.builder()
+                        .scopeType(entry.getKey().scopeType())
+                        .scopeId(entry.getKey().scopeId())
+                        .permissions(authorizationModel.keysOf(entry.getValue()))
+                        .build())
+                .sorted(Comparator.comparing(EffectivePermissionsResponse.ScopedPermissions::getScopeType)
+                        .thenComparing(EffectivePermissionsResponse.ScopedPermissions::getScopeId,
+                                Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+        
+        return EffectivePermissionsResponse.builder()
+                .userId(userId)
+                .permissions(authorizationModel.keysOf(scopedPermissionIndex.globalPermissions(userId)))
+                .scoped(scoped)
+                .expiresAt(scopedPermissionIndex.nextExpiry(userId))
+                .build();
+    }
+    
+    /**
+     * Entity tag over the user's effective permissions: a SHA-256 digest of the sorted
+     * permission keys per scope and the next grant expiry. Keys rather than bits keep the tag
+     * stable across model rebuilds and nodes; it changes whenever any grant, role or group
+     * change alters what the user may do.
+     */
+    public String effectivePermissionsTag(Long userId) {
+        StringBuilder canonical = new StringBuilder();
+        appendKeys(canonical.append("GLOBAL"), scopedPermissionIndex.globalPermissions(userId));
+        scopedPermissionIndex.scopedPermissions(userId).entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator
+                        .comparing(ScopedPermissionIndex.ScopeKey::scopeType)
+                        .thenComparing(ScopedPermissionIndex.ScopeKey::scopeId,
+                                Comparator.nullsFirst(Comparator.naturalOrder()))))
+                .forEach(entry -> appendKeys(canonical.append('\n').append(entry.getKey().scopeType())
+                        .append(':').append(entry.getKey().scopeId()), entry.getValue()));
+        canonical.append("\nexpires:").append(scopedPermissionIndex.nextExpiry(userId));
+        return "\"" + userId + "-" + digest(canonical.toString()) + "\"";
+    }
+    
+    private void appendKeys(StringBuilder canonical, PermissionSet permissions) {
+        authorizationModel.keysOf(permissions).stream().sorted()
+                .forEach(key -> canonical.append(' ').append(key));
+    }
+    
+    private static String digest(String value) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
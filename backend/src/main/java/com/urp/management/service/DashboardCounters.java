@@ -0,0 +1,181 @@
+package com.urp.management.service;
+
+import com.urp.management.audit.AuditEvent;
+import com.urp.management.audit.AuditEventListener;
+import com.urp.management.audit.AuditPartitionManager;
+import com.urp.management.domain.enums.UserStatus;
+import com.urp.management.repository.AuditActivityRollupRepository;
+import com.urp.management.repository.RoleRepository;
+import com.urp.management.repository.TenantRepository;
+import com.urp.management.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory counters behind the dashboard. Services report changes once they commit and the
+ * counters are periodically reconciled against the database, so reads never touch it. Between
+ * reconciliations the numbers may be slightly off when changes race with a reconciliation.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardCounters implements AuditEventListener {
+    
+    private static final Long NO_TENANT = 0L;
+    
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final TenantRepository tenantRepository;
+    private final AuditActivityRollupRepository auditActivityRollupRepository;
+    private final AuditPartitionManager auditPartitionManager;
+    
+    private volatile Map<UserStatus, AtomicLong> usersByStatus = new ConcurrentHashMap<>();
+    private volatile Map<Long, AtomicLong> usersByTenant = new ConcurrentHashMap<>();
+    private final AtomicLong roles = new AtomicLong();
+    private final AtomicLong tenants = new AtomicLong();
+    private final AtomicLong auditEntries = new AtomicLong();
+    
+    public void userCreated(UserStatus status, Long tenantId) {
+        runAfterCommit(() -> {
+            increment(usersByStatus, status, 1);
+            increment(usersByTenant, tenantId != null ? tenantId : NO_TENANT, 1);
+        });
+    }
+    
+    public void userStatusChanged(UserStatus oldStatus, UserStatus newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        runAfterCommit(() -> {
+            increment(usersByStatus, oldStatus, -1);
+            increment(usersByStatus, newStatus, 1);
+        });
+    }
+    
+    public void usersStatusChanged(Map<UserStatus, Long> previous, UserStatus newStatus) {
+        runAfterCommit(() -> previous.forEach((oldStatus, count) -> {
+            if (oldStatus != newStatus) {
+                increment(usersByStatus, oldStatus, -count);
+                increment(usersByStatus, newStatus, count);
+            }
+        }));
+    }
+    
+    public void roleCreated() {
+        runAfterCommit(roles::incrementAndGet);
+    }
+    
+    public void roleDeleted() {
+        runAfterCommit(roles::decrementAndGet);
+    }
+    
+    public void tenantCreated() {
+        runAfterCommit(tenants::incrementAndGet);
+    }
+    
+    public void tenantDeleted() {
+        runAfterCommit(tenants::decrementAndGet);
+    }
+    
+    @Override
+    public void onAuditEvents(List<AuditEvent> events) {
+        auditEntries.addAndGet(events.size());
+    }
+    
+    public long totalUsers() {
+        return usersByStatus.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+    
+    public long usersWithStatus(UserStatus status) {
+        AtomicLong count = usersByStatus.get(status);
+        return count != null ? count.get() : 0;
+    }
+    
+    public Map<UserStatus, Long> usersByStatus() {
+        Map<UserStatus, Long> result = new EnumMap<>(UserStatus.class);
+        usersByStatus.forEach((status, count) -> result.put(status, count.get()));
+        return result;
+    }
+    
+    public long usersInTenant(Long tenantId) {
+        AtomicLong count = usersByTenant.get(tenantId);
+        return count != null ? count.get() : 0;
+    }
+    
+    public Map<Long, Long> usersByTenant() {
+        Map<Long, Long> result = new HashMap<>();
+        usersByTenant.forEach((tenantId, count) -> {
+            if (!NO_TENANT.equals(tenantId)) {
+                result.put(tenantId, count.get());
+            }
+        });
+        return result;
+    }
+    
+    public long roles() {
+        return roles.get();
+    }
+    
+    public long tenants() {
+        return tenants.get();
+    }
+    
+    public long auditEntries() {
+        return auditEntries.get();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.dashboard.counters.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.dashboard.counters.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        Map<UserStatus, AtomicLong> byStatus = new ConcurrentHashMap<>();
+        for (Object[] row : userRepository.countGroupByStatus()) {
+            byStatus.put((UserStatus) row[0], new AtomicLong((Long) row[1]));
+        }
+        Map<Long, AtomicLong> byTenant = new ConcurrentHashMap<>();
+        for (Object[] row : userRepository.countGroupByTenant()) {
+            byTenant.put(row[0] != null ? (Long) row[0] : NO_TENANT, new AtomicLong((Long) row[1]));
+        }
+        
+        usersByStatus = byStatus;
+        usersByTenant = byTenant;
+        roles.set(roleRepository.count());
+        tenants.set(tenantRepository.count());
+        // Counting the rollups stays cheap however large audit_logs grows; entries older than
+        // the retention cutoff are not searchable any more and are left out
+        auditEntries.set(auditActivityRollupRepository.sumEventCountSince(auditPartitionManager.retentionCutoff()));
+        log.debug("Reconciled dashboard counters");
+    }
+    
+    private static <K> void increment(Map<K, AtomicLong> counters, K key, long delta) {
+        counters.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+    }
+    
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,78 +1,104 @@
 package com.urp.management.service;
 
-import com.urp.management.domain.entity.AuditLog;
+import com.urp.management.audit.AuditActivityRollups;
+import com.urp.management.audit.AuditPartitionManager;
+import com.urp.management.domain.entity.AuditActivityRollup;
+import com.urp.management.domain.enums.TimeGranularity;
 import com.urp.management.domain.enums.UserStatus;
+import com.urp.management.dto.response.ActivityPointResponse;
 import com.urp.management.dto.response.DashboardStatsResponse;
 import com.urp.management.dto.response.RecentActivityResponse;
-import com.urp.management.repository.AuditLogRepository;
-import com.urp.management.repository.RoleRepository;
-import com.urp.management.repository.UserRepository;
+import com.urp.management.repository.AuditActivityRollupRepository;
+import com.urp.management.repository.AuditActivityRollupSpecifications;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
     
-    private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
-    private final AuditLogRepository auditLogRepository;
+    private final AuditActivityRollupRepository auditActivityRollupRepository;
+    private final AuditActivityRollups auditActivityRollups;
+    private final AuditPartitionManager auditPartitionManager;
+    private final DashboardCounters dashboardCounters;
+    private final RecentActivityFeed recentActivityFeed;
     
-    @Transactional(readOnly = true)
     public DashboardStatsResponse getDashboardStats() {
-        long totalUsers = userRepository.count();
-        long activeUsers = userRepository.searchUsers(null, UserStatus.ACTIVE, null, Pageable.unpaged())
-                .getTotalElements();
-        long activeRoles = roleRepository.count();
-        long totalAuditLogs = auditLogRepository.count();
-        
         return DashboardStatsResponse.builder()
-                .totalUsers(totalUsers)
-                .activeUsers(activeUsers)
-                .activeRoles(activeRoles)
-                .totalAuditLogs(totalAuditLogs)
+                .totalUsers(dashboardCounters.totalUsers())
+                .activeUsers(dashboardCounters.usersWithStatus(UserStatus.ACTIVE))
+                .activeRoles(dashboardCounters.roles())
+                .totalAuditLogs(dashboardCounters.auditEntries())
+                .usersByStatus(dashboardCounters.usersByStatus())
+                .usersByTenant(dashboardCounters.usersByTenant())
                 .build();
     }
     
-    @Transactional(readOnly = true)
     public List<RecentActivityResponse> getRecentActivity(int limit) {
-        Pageable pageable = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
-        return auditLogRepository.findAll(pageable).stream()
-                .map(this::convertToRecentActivity)
-                .collect(Collectors.toList());
+        List<RecentActivityResponse> recent = recentActivityFeed.recent(limit);
+        return recent != null ? recent : recentActivityFeed.load(limit);
     }
     
-    private RecentActivityResponse convertToRecentActivity(AuditLog log) {
-        return RecentActivityResponse.builder()
-                .id(log.getId())
-                .action(log.getAction())
-                .description(buildDescription(log))
-                .timestamp(log.getCreatedAt())
-                .actorEmail(log.getActorUser() != null ? log.getActorUser().getEmail() : "System")
-                .build();
-    }
-    
-    private String buildDescription(AuditLog log) {
-        String action = log.getAction();
-        String targetType = log.getTargetType();
-        String metadata = log.getMetadata();
+    @Transactional(readOnly = true)
+    public List<ActivityPointResponse> getActivitySeries(LocalDateTime from, LocalDateTime to,
+                                                         TimeGranularity granularity,
+                                                         String action, Long tenantId) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        List<AuditActivityRollup> rollups = auditActivityRollupRepository.findAll(
+                AuditActivityRollupSpecifications.matching(start, end, action, tenantId),
+                Sort.by("bucketStart", "action", "tenantId"));
         
-        // Build a human-readable description
-        if (action.startsWith("USER_")) {
-            return String.format("User %s", action.substring(5).toLowerCase().replace('_', ' '));
-        } else if (action.startsWith("ROLE_")) {
-            return String.format("Role %s", action.substring(5).toLowerCase().replace('_', ' '));
-        } else if (action.startsWith("PERMISSION_")) {
-            return String.format("Permission %s", action.substring(11).toLowerCase().replace('_', ' '));
+        if (granularity == TimeGranularity.HOUR) {
+            return rollups.stream()
+                    .map(rollup -> ActivityPointResponse.builder()
+                            .bucketStart(rollup.getBucketStart())
+                            .action(rollup.getAction())
+                            .tenantId(rollup.getTenantId())
+                            .count(rollup.getEventCount())
+                            .build())
+                    .collect(Collectors.toList());
         }
         
-        return action.toLowerCase().replace('_', ' ');
+        // Hourly rows are sorted, so days come out in order
+        Map<DayKey, Long> daily = new LinkedHashMap<>();
+        for (AuditActivityRollup rollup : rollups) {
+            DayKey key = new DayKey(rollup.getBucketStart().toLocalDate().atStartOfDay(),
+                    rollup.getAction(), rollup.getTenantId());
+            daily.merge(key, rollup.getEventCount(), Long::sum);
+        }
+        return daily.entrySet().stream()
+                .map(entry -> ActivityPointResponse.builder()
+                        .bucketStart(entry.getKey().day())
+                        .action(entry.getKey().action())
+                        .tenantId(entry.getKey().tenantId())
+                        .count(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Recomputes activity rollups from the raw audit log in the background. The range is
+     * limited to the retention window so counts for already purged periods are kept.
+     */
+    public void rebuildActivityRollups(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = auditPartitionManager.clampFrom(from);
+        // The current hour is still being written to; leave it to the live counters
+        LocalDateTime end = to != null ? to : LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        if (!auditActivityRollups.startRebuild(start, end)) {
+            throw new RuntimeException("An activity rollup rebuild is already running");
+        }
+    }
+    
+    private record DayKey(LocalDateTime day, String action, Long tenantId) {
     }
 }
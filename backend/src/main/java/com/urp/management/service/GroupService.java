@@ -0,0 +1,238 @@
+package com.urp.management.service;
+
+import com.urp.management.domain.entity.*;
+import com.urp.management.dto.request.AssignRoleRequest;
+import com.urp.management.dto.request.CreateGroupRequest;
+import com.urp.management.dto.request.UpdateGroupParentRequest;
+import com.urp.management.dto.response.GroupResponse;
+import com.urp.management.dto.response.GroupRoleResponse;
+import com.urp.management.repository.*;
+import com.urp.management.security.AuthorityChangeNotifier;
+import com.urp.management.security.CurrentUser;
+import com.urp.management.security.GroupClosure;
+import com.urp.management.security.GroupGrant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class GroupService {
+    
+    private final GroupRepository groupRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final GroupRoleRepository groupRoleRepository;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final TenantRepository tenantRepository;
+    private final GroupClosure groupClosure;
+    private final AuthorityChangeNotifier authorityChangeNotifier;
+    private final AuditService auditService;
+    
+    public List<GroupResponse> getGroups(Long tenantId) {
+        List<Group> groups = tenantId != null
+                ? groupRepository.findByTenantId(tenantId)
+                : groupRepository.findAll();
+        return groups.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+    
+    public GroupResponse getGroupById(Long id) {
+        Group group = groupRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Group not found"));
+        return mapToResponse(group);
+    }
+    
+    public GroupResponse createGroup(CreateGroupRequest request) {
+        Group group = Group.builder()
+                .name(request.getName())
+                .description(request.getDescription())
+                .build();
+        
+        if (request.getTenantId() != null) {
+            Tenant tenant = tenantRepository.findById(request.getTenantId())
+                    .orElseThrow(() -> new RuntimeException("Tenant not found"));
+            group.setTenant(tenant);
+        }
+        
+        if (request.getParentGroupId() != null) {
+            Group parent = groupRepository.findById(request.getParentGroupId())
+                    .orElseThrow(() -> new RuntimeException("Parent group not found"));
+            group.setParentGroup(parent);
+        }
+        
+        group = groupRepository.save(group);
+        groupClosure.groupCreated(group.getId(), request.getParentGroupId());
+        
+        auditService.log("GROUP_CREATED", "Group", group.getId().toString(), null, CurrentUser.id());
+        
+        return mapToResponse(group);
+    }
+    
+    public GroupResponse updateParent(Long id, UpdateGroupParentRequest request) {
+        Group group = groupRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Group not found"));
+        
+        Long parentGroupId = request.getParentGroupId();
+        if (parentGroupId != null) {
+            if (groupClosure.wouldCreateCycle(id, parentGroupId)) {
+                throw new RuntimeException("Group cannot be moved below itself");
+            }
+            Group parent = groupRepository.findById(parentGroupId)
+                    .orElseThrow(() -> new RuntimeException("Parent group not found"));
+            group.setParentGroup(parent);
+        } else {
+            group.setParentGroup(null);
+        }
+        
+        group = groupRepository.save(group);
+        
+        // Everyone below the moved group now inherits from a different set of ancestors
+        Set<Long> affectedUsers = groupClosure.membersOfSubtree(id);
+        groupClosure.parentChanged(id, parentGroupId);
+        authorityChangeNotifier.usersChanged(affectedUsers);
+        
+        auditService.log("GROUP_MOVED", "Group", id.toString(),
+                String.format("{\"parentGroupId\":%s}", parentGroupId), CurrentUser.id());
+        
+        return mapToResponse(group);
+    }
+    
+    public void deleteGroup(Long id) {
+        Group group = groupRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Group not found"));
+        
+        if (groupRepository.existsByParentGroupId(id)) {
+            throw new RuntimeException("Cannot delete group with child groups");
+        }
+        
+        Set<Long> affectedUsers = groupClosure.membersOfSubtree(id);
+        groupRoleRepository.deleteAll(groupRoleRepository.findByGroupId(id));
+        groupRepository.delete(group);
+        groupClosure.groupDeleted(id);
+        authorityChangeNotifier.usersChanged(affectedUsers);
+        
+        auditService.log("GROUP_DELETED", "Group", id.toString(),
+                String.format("{\"name\":\"%s\"}", group.getName()), CurrentUser.id());
+    }
+    
+    public void addMember(Long groupId, Long userId) {
+        Group group = groupRepository.findById(groupId)
+                .orElseThrow(() -> new RuntimeException("Group not found"));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        if (groupMemberRepository.existsByGroupIdAndUserId(groupId, userId)) {
+            throw new RuntimeException("User is already a member of this group");
+        }
+        
+        GroupMember member = GroupMember.builder()
+                .group(group)
+                .user(user)
+                .addedBy(getCurrentUser())
+                .build();
+        groupMemberRepository.save(member);
+        groupClosure.memberAdded(groupId, userId);
+        authorityChangeNotifier.usersChanged(Set.of(userId));
+        
+        auditService.log("GROUP_MEMBER_ADDED", "Group", groupId.toString(),
+                String.format("{\"userId\":%d}", userId), CurrentUser.id());
+    }
+    
+    public void removeMember(Long groupId, Long userId) {
+        GroupMember member = groupMemberRepository.findByGroupIdAndUserId(groupId, userId)
+                .orElseThrow(() -> new RuntimeException("User is not a member of this group"));
+        
+        member.getGroup().getMembers().remove(member);
+        groupMemberRepository.delete(member);
+        groupClosure.memberRemoved(groupId, userId);
+        authorityChangeNotifier.usersChanged(Set.of(userId));
+        
+        auditService.log("GROUP_MEMBER_REMOVED", "Group", groupId.toString(),
+                String.format("{\"userId\":%d}", userId), CurrentUser.id());
+    }
+    
+    public GroupRoleResponse assignRole(Long groupId, AssignRoleRequest request) {
+        Group group = groupRepository.findById(groupId)
+                .orElseThrow(() -> new RuntimeException("Group not found"));
+        Role role = roleRepository.findById(request.getRoleId())
+                .orElseThrow(() -> new RuntimeException("Role not found"));
+        
+        if (groupRoleRepository.existsByGroupIdAndRoleIdAndScopeTypeAndScopeId(
+                groupId, role.getId(), request.getScopeType(), request.getScopeId())) {
+            throw new RuntimeException("Role already assigned for this scope");
+        }
+        
+        GroupRole groupRole = GroupRole.builder()
+                .group(group)
+                .role(role)
+                .scopeType(request.getScopeType())
+                .scopeId(request.getScopeId())
+                .grantedBy(getCurrentUser())
+                .expiresAt(request.getExpiresAt())
+                .build();
+        groupRole = groupRoleRepository.save(groupRole);
+        
+        groupClosure.grantAdded(new GroupGrant(groupRole.getId(), groupId, role.getId(),
+                groupRole.getScopeType(), groupRole.getScopeId(), groupRole.getExpiresAt()));
+        authorityChangeNotifier.usersChanged(groupClosure.membersOfSubtree(groupId));
+        
+        auditService.log("GROUP_ROLE_ASSIGNED", "GroupRole", groupRole.getId().toString(),
+                String.format("{\"groupId\":%d,\"roleId\":%d,\"scope\":\"%s\"}",
+                        groupId, role.getId(), request.getScopeType()),
+                CurrentUser.id());
+        
+        return mapToGroupRoleResponse(groupRole);
+    }
+    
+    public void removeRole(Long groupId, Long groupRoleId) {
+        GroupRole groupRole = groupRoleRepository.findByIdAndGroupId(groupRoleId, groupId)
+                .orElseThrow(() -> new RuntimeException("Role assignment not found for group"));
+        
+        groupRoleRepository.delete(groupRole);
+        groupClosure.grantRemoved(groupId, groupRoleId);
+        authorityChangeNotifier.usersChanged(groupClosure.membersOfSubtree(groupId));
+        
+        auditService.log("GROUP_ROLE_REMOVED", "GroupRole", groupRoleId.toString(),
+                String.format("{\"groupId\":%d}", groupId), CurrentUser.id());
+    }
+    
+    private GroupResponse mapToResponse(Group group) {
+        List<GroupRoleResponse> roles = groupRoleRepository.findByGroupId(group.getId()).stream()
+                .map(this::mapToGroupRoleResponse)
+                .collect(Collectors.toList());
+        
+        return GroupResponse.builder()
+                .id(group.getId())
+                .name(group.getName())
+                .description(group.getDescription())
+                .tenantId(group.getTenant() != null ? group.getTenant().getId() : null)
+                .parentGroupId(group.getParentGroup() != null ? group.getParentGroup().getId() : null)
+                .createdAt(group.getCreatedAt())
+                .memberCount(groupClosure.memberCount(group.getId()))
+                .roles(roles)
+                .build();
+    }
+    
+    private GroupRoleResponse mapToGroupRoleResponse(GroupRole groupRole) {
+        return GroupRoleResponse.builder()
+                .id(groupRole.getId())
+                .roleId(groupRole.getRole().getId())
+                .roleName(groupRole.getRole().getName())
+                .scopeType(groupRole.getScopeType())
+                .scopeId(groupRole.getScopeId())
+                .grantedAt(groupRole.getGrantedAt())
+                .expiresAt(groupRole.getExpiresAt())
+                .build();
+    }
+    
+    private User getCurrentUser() {
+        return userRepository.getReferenceById(CurrentUser.requireId());
+    }
+}
@@ -0,0 +1,157 @@
+package com.urp.management.service;
+
+import com.urp.management.audit.AuditEvent;
+import com.urp.management.audit.AuditEventListener;
+import com.urp.management.dto.response.RecentActivityResponse;
+import com.urp.management.repository.AuditLogRepository;
+import com.urp.management.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The most recent audit events, kept in a fixed-size ring so the dashboard feed is served
+ * from memory. Filled from the database at startup and fed by the audit writer afterwards.
+ */
+@Slf4j
+@Component
+public class RecentActivityFeed implements AuditEventListener {
+    
+    private static final Comparator<RecentActivityResponse> NEWEST_FIRST = Comparator
+            .comparing(RecentActivityResponse::getTimestamp, Comparator.reverseOrder())
+            .thenComparing(RecentActivityResponse::getId, Comparator.nullsLast(Comparator.reverseOrder()));
+    
+    private final AuditLogRepository auditLogRepository;
+    private final UserRepository userRepository;
+    private final RecentActivityResponse[] ring;
+    private int head;
+    private int size;
+    private volatile boolean loaded;
+    
+    public RecentActivityFeed(AuditLogRepository auditLogRepository, UserRepository userRepository,
+                              @Value("${app.dashboard.recent-activity.capacity:100}") int capacity) {
+        this.auditLogRepository = auditLogRepository;
+        this.userRepository = userRepository;
+        this.ring = new RecentActivityResponse[Math.max(1, capacity)];
+    }
+    
+    public int capacity() {
+        return ring.length;
+    }
+    
+    /**
+     * Returns up to {@code limit} entries, newest first, or {@code null} when the ring cannot
+     * answer and the caller should go to the database.
+     */
+    public synchronized List<RecentActivityResponse> recent(int limit) {
+        if (!loaded || limit > ring.length) {
+            return null;
+        }
+        return newestFirst(Math.min(limit, size));
+    }
+    
+    /**
+     * Reads the newest entries straight from {@code audit_logs}, fetching only the columns the
+     * feed shows.
+     */
+    public List<RecentActivityResponse> load(int limit) {
+        return auditLogRepository.findRecentActivity(PageRequest.of(0, limit)).stream()
+                .map(row -> toResponse((Long) row[0], (String) row[1], (String) row[2],
+                        (LocalDateTime) row[3], (String) row[4]))
+                .collect(Collectors.toList());
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<RecentActivityResponse> stored = load(ring.length);
+        synchronized (this) {
+            // Events written while loading are already in the ring and may also be in the result
+            Map<Long, RecentActivityResponse> merged = new LinkedHashMap<>();
+            newestFirst(size).forEach(entry -> merged.put(entry.getId(), entry));
+            stored.forEach(entry -> merged.putIfAbsent(entry.getId(), entry));
+            List<RecentActivityResponse> entries = new ArrayList<>(merged.values());
+            entries.sort(NEWEST_FIRST.reversed());
+            Arrays.fill(ring, null);
+            head = 0;
+            size = 0;
+            entries.forEach(this::add);
+            loaded = true;
+        }
+        log.debug("Loaded {} recent activity entries", size);
+    }
+    
+    @Override
+    public void onAuditEvents(List<AuditEvent> events) {
+        Set<Long> actorIds = events.stream()
+                .map(AuditEvent::actorUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, String> emails = new HashMap<>();
+        if (!actorIds.isEmpty()) {
+            for (Object[] row : userRepository.findEmailsByIdIn(actorIds)) {
+                emails.put((Long) row[0], (String) row[1]);
+            }
+        }
+        
+        List<RecentActivityResponse> entries = events.stream()
+                .map(event -> toResponse(event.id(), event.action(), event.targetType(),
+                        event.createdAt(), emails.get(event.actorUserId())))
+                .collect(Collectors.toList());
+        synchronized (this) {
+            entries.forEach(this::add);
+        }
+    }
+    
+    private void add(RecentActivityResponse entry) {
+        ring[head] = entry;
+        head = (head + 1) % ring.length;
+        size = Math.min(size + 1, ring.length);
+    }
+    
+    private List<RecentActivityResponse> newestFirst(int count) {
+        List<RecentActivityResponse> result = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            result.add(ring[Math.floorMod(head - i, ring.length)]);
+        }
+        return result;
+    }
+    
+    private static RecentActivityResponse toResponse(Long id, String action, String targetType,
+                                                     LocalDateTime createdAt, String actorEmail) {
+        return RecentActivityResponse.builder()
+                .id(id)
+                .action(action)
+                .targetType(targetType)
+                .description(describe(action))
+                .timestamp(createdAt)
+                .actorEmail(actorEmail != null ? actorEmail : "System")
+                .build();
+    }
+    
+    private static String describe(String action) {
+        if (action.startsWith("USER_")) {
+            return String.format("User %s", action.substring(5).toLowerCase().replace('_', ' '));
+        } else if (action.startsWith("ROLE_")) {
+            return String.format("Role %s", action.substring(5).toLowerCase().replace('_', ' '));
+        } else if (action.startsWith("PERMISSION_")) {
+            return String.format("Permission %s", action.substring(11).toLowerCase().replace('_', ' '));
+        }
+        
+        return action.toLowerCase().replace('_', ' ');
+    }
+}
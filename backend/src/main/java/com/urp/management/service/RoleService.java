@@ -2,18 +2,33 @@ package com.urp.management.service;
 
 import com.urp.management.domain.entity.Permission;
 import com.urp.management.domain.entity.Role;
+import com.urp.management.dto.request.BatchRoleAssignmentRequest;
 import com.urp.management.dto.request.CreateRoleRequest;
 import com.urp.management.dto.request.UpdateRoleRequest;
+import com.urp.management.dto.response.BatchRoleAssignmentResponse;
 import com.urp.management.dto.response.PermissionResponse;
 import com.urp.management.dto.response.RoleResponse;
+import com.urp.management.repository.IdAllocator;
 import com.urp.management.repository.PermissionRepository;
 import com.urp.management.repository.RoleRepository;
 import com.urp.management.repository.TenantRepository;
+import com.urp.management.repository.UserRoleRepository;
+import com.urp.management.security.AuthorityChangeNotifier;
+import com.urp.management.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -23,10 +38,19 @@ import java.util.stream.Collectors;
 @Transactional
 public class RoleService {
     
+    private static final int BATCH_CHUNK = 1000;
+    private static final String INSERT_USER_ROLE_SQL = "INSERT INTO user_roles (id, user_id, role_id, " +
+            "scope_type, scope_id, granted_by, granted_at, expires_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
     private final TenantRepository tenantRepository;
     private final AuditService auditService;
+    private final AuthorityChangeNotifier authorityChangeNotifier;
+    private final DashboardCounters dashboardCounters;
+    private final UserRoleRepository userRoleRepository;
+    private final IdAllocator idAllocator;
+    private final JdbcTemplate jdbcTemplate;
     
     public List<RoleResponse> getAllRoles() {
         return roleRepository.findAll().stream()
@@ -61,9 +85,11 @@ public class RoleService {
         }
         
         role = roleRepository.save(role);
+        authorityChangeNotifier.roleChanged(role);
+        dashboardCounters.roleCreated();
         
         auditService.log("ROLE_CREATED", "Role", role.getId().toString(), 
-                null, null);
+                null, CurrentUser.id());
         
         return mapToResponse(role);
     }
@@ -87,8 +113,9 @@ public class RoleService {
         }
         
         role = roleRepository.save(role);
+        authorityChangeNotifier.roleChanged(role);
         
-        auditService.log("ROLE_UPDATED", "Role", roleId.toString(), null, null);
+        auditService.log("ROLE_UPDATED", "Role", roleId.toString(), null, CurrentUser.id());
         
         return mapToResponse(role);
     }
@@ -107,10 +134,11 @@ public class RoleService {
         
         role.setPermissions(permissions);
         role = roleRepository.save(role);
+        authorityChangeNotifier.roleChanged(role);
         
         auditService.log("ROLE_PERMISSIONS_UPDATED", "Role", roleId.toString(),
                 String.format("{\"permissionCount\":%d}", permissions.size()),
-                null);
+                CurrentUser.id());
         
         return mapToResponse(role);
     }
@@ -123,9 +151,105 @@ public class RoleService {
             throw new RuntimeException("Cannot delete system role");
         }
         
+        authorityChangeNotifier.roleDeleted(id);
         roleRepository.delete(role);
+        dashboardCounters.roleDeleted();
         
-        auditService.log("ROLE_DELETED", "Role", id.toString(), null, null);
+        auditService.log("ROLE_DELETED", "Role", id.toString(), null, CurrentUser.id());
+    }
+    
+    /**
+     * Grants the role to every listed user that exists and does not already hold it in the
+     * scope. Each chunk of ids is deduplicated with one query and inserted with one batch.
+     */
+    public BatchRoleAssignmentResponse assignRoleBatch(Long roleId, BatchRoleAssignmentRequest request) {
+        Role role = roleRepository.findById(roleId)
+                .orElseThrow(() -> new RuntimeException("Role not found"));
+        List<Long> userIds = new ArrayList<>(new LinkedHashSet<>(request.getUserIds()));
+        Long currentUserId = CurrentUser.id();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp expiresAt = request.getExpiresAt() != null ? Timestamp.valueOf(request.getExpiresAt()) : null;
+        
+        List<Long> assigned = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += BATCH_CHUNK) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + BATCH_CHUNK, userIds.size()));
+            List<Long> pending = userRoleRepository.findUserIdsWithoutGrant(role.getId(),
+                    request.getScopeType(), request.getScopeId(), chunk);
+            if (pending.isEmpty()) {
+                continue;
+            }
+            
+            long[] ids = idAllocator.allocate("user_roles_seq", pending.size());
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setLong(1, ids[i]);
+                    ps.setLong(2, pending.get(i));
+                    ps.setLong(3, role.getId());
+                    ps.setString(4, request.getScopeType().name());
+                    ps.setString(5, request.getScopeId());
+                    if (currentUserId != null) {
+                        ps.setLong(6, currentUserId);
+                    } else {
+                        ps.setNull(6, Types.BIGINT);
+                    }
+                    ps.setTimestamp(7, now);
+                    ps.setTimestamp(8, expiresAt);
+                }
+                
+                @Override
+                public int getBatchSize() {
+                    return pending.size();
+                }
+            });
+            assigned.addAll(pending);
+        }
+        authorityChangeNotifier.usersChanged(assigned);
+        
+        auditService.log("ROLE_ASSIGNED_BATCH", "Role", roleId.toString(),
+                String.format("{\"scope\":\"%s\",\"scopeId\":%s,\"requested\":%d,\"assigned\":%d}",
+                        request.getScopeType(), quote(request.getScopeId()), userIds.size(), assigned.size()),
+                currentUserId);
+        
+        return BatchRoleAssignmentResponse.builder()
+                .roleId(roleId)
+                .requested(userIds.size())
+                .applied(assigned.size())
+                .skipped(userIds.size() - assigned.size())
+                .build();
+    }
+    
+    /**
+     * Removes the role in the given scope from every listed user holding it.
+     */
+    public BatchRoleAssignmentResponse revokeRoleBatch(Long roleId, BatchRoleAssignmentRequest request) {
+        Role role = roleRepository.findById(roleId)
+                .orElseThrow(() -> new RuntimeException("Role not found"));
+        List<Long> userIds = new ArrayList<>(new LinkedHashSet<>(request.getUserIds()));
+        
+        List<Long> revoked = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += BATCH_CHUNK) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + BATCH_CHUNK, userIds.size()));
+            List<Long> holders = userRoleRepository.findUserIdsWithGrant(role.getId(),
+                    request.getScopeType(), request.getScopeId(), chunk);
+            if (!holders.isEmpty()) {
+                userRoleRepository.deleteGrants(role.getId(), request.getScopeType(), request.getScopeId(), holders);
+                revoked.addAll(holders);
+            }
+        }
+        authorityChangeNotifier.usersChanged(revoked);
+        
+        auditService.log("ROLE_REVOKED_BATCH", "Role", roleId.toString(),
+                String.format("{\"scope\":\"%s\",\"scopeId\":%s,\"requested\":%d,\"revoked\":%d}",
+                        request.getScopeType(), quote(request.getScopeId()), userIds.size(), revoked.size()),
+                CurrentUser.id());
+        
+        return BatchRoleAssignmentResponse.builder()
+                .roleId(roleId)
+                .requested(userIds.size())
+                .applied(revoked.size())
+                .skipped(userIds.size() - revoked.size())
+                .build();
     }
     
     public List<PermissionResponse> getAllPermissions() {
@@ -150,6 +274,10 @@ public class RoleService {
                 .build();
     }
     
+    private static String quote(String value) {
+        return value != null ? "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"" : "null";
+    }
+    
     private PermissionResponse mapPermissionToResponse(Permission permission) {
         return PermissionResponse.builder()
                 .id(permission.getId())
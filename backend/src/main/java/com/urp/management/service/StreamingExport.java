@@ -0,0 +1,153 @@
+package com.urp.management.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Plumbing shared by the streamed exports: runs the query forward-only in a read-only
+ * transaction and hands each row to a {@link RowSink} writing to the (optionally gzipped)
+ * response, plus the CSV and NDJSON encoding both formats use. Each export keeps only its
+ * query and how a row becomes a record.
+ */
+final class StreamingExport {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    
+    StreamingExport(DataSource dataSource, PlatformTransactionManager transactionManager,
+                    ObjectMapper objectMapper, int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        // PostgreSQL only honours the fetch size inside a transaction
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+    
+    void stream(String sql, Object[] args, boolean gzip, OutputStream out, SinkFactory sinks) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 16384);
+        RowSink sink = sinks.open(writer);
+        
+        try {
+            sink.begin();
+            readOnlyTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.query(sql, rs -> {
+                        try {
+                            sink.accept(rs);
+                        } catch (IOException e) {
+                            // Client went away; abort the query and release the connection
+                            throw new UncheckedIOException(e);
+                        }
+                    }, args));
+            sink.end();
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    /**
+     * A generator writing one JSON document per line; callers end each record with a newline.
+     */
+    JsonGenerator ndjson(Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+    
+    /**
+     * Writes one CSV record; null values are left empty and fields are quoted only when needed.
+     */
+    static void writeCsvRecord(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeCsvField(writer, values[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+    
+    /**
+     * Wraps a sink so that {@code rows[0]} tracks how many rows it has accepted, also when the
+     * export fails part way.
+     */
+    static RowSink counting(RowSink sink, long[] rows) {
+        return new RowSink() {
+            @Override
+            public void begin() throws IOException {
+                sink.begin();
+            }
+            
+            @Override
+            public void accept(ResultSet rs) throws SQLException, IOException {
+                sink.accept(rs);
+                rows[0]++;
+            }
+            
+            @Override
+            public void end() throws IOException {
+                sink.end();
+            }
+        };
+    }
+    
+    static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+    
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+    
+    /**
+     * Receives the rows of one export in query order.
+     */
+    interface RowSink {
+        default void begin() throws IOException {
+        }
+        
+        void accept(ResultSet rs) throws SQLException, IOException;
+        
+        default void end() throws IOException {
+        }
+    }
+    
+    @FunctionalInterface
+    interface SinkFactory {
+        RowSink open(Writer writer) throws IOException;
+    }
+}
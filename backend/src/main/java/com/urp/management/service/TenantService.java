@@ -1,30 +1,37 @@
 package com.urp.management.service;
 
 import com.urp.management.domain.entity.Tenant;
-import com.urp.management.domain.entity.User;
 import com.urp.management.domain.enums.TenantStatus;
 import com.urp.management.dto.request.CreateTenantRequest;
 import com.urp.management.dto.request.UpdateTenantRequest;
+import com.urp.management.dto.response.CursorPageResponse;
 import com.urp.management.dto.response.TenantResponse;
 import com.urp.management.repository.TenantRepository;
+import com.urp.management.repository.TenantSpecifications;
 import com.urp.management.repository.UserRepository;
+import com.urp.management.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class TenantService {
     
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    
     private final TenantRepository tenantRepository;
     private final UserRepository userRepository;
     private final AuditService auditService;
+    private final DashboardCounters dashboardCounters;
     
     public Page<TenantResponse> getAllTenants(Pageable pageable) {
         return tenantRepository.findAll(pageable)
@@ -48,6 +55,35 @@ public class TenantService {
         }
     }
     
+    public CursorPageResponse<TenantResponse> scrollTenants(String query, TenantStatus status,
+                                                            String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Specification<Tenant> spec = TenantSpecifications.matching(query, status);
+        if (after != null) {
+            spec = spec.and(TenantSpecifications.before(after.createdAt(), after.id()));
+        }
+        
+        // Fetch one extra row to learn whether another page exists without counting
+        List<Tenant> tenants = tenantRepository.findBy(spec, q -> q
+                .sortBy(NEWEST_FIRST)
+                .limit(size + 1)
+                .all());
+        
+        boolean hasMore = tenants.size() > size;
+        if (hasMore) {
+            tenants = tenants.subList(0, size);
+        }
+        Tenant last = tenants.isEmpty() ? null : tenants.get(tenants.size() - 1);
+        boolean unfiltered = (query == null || query.isBlank()) && status == null;
+        
+        return CursorPageResponse.<TenantResponse>builder()
+                .content(tenants.stream().map(this::mapToTenantResponse).toList())
+                .nextCursor(hasMore ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .approximateTotal(unfiltered ? dashboardCounters.tenants() : null)
+                .build();
+    }
+    
     public TenantResponse getTenantById(Long id) {
         Tenant tenant = tenantRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Tenant not found"));
@@ -79,9 +115,10 @@ public class TenantService {
                 .build();
         
         tenant = tenantRepository.save(tenant);
+        dashboardCounters.tenantCreated();
         
         auditService.log("TENANT_CREATED", "Tenant", tenant.getId().toString(), 
-                null, getCurrentUserId());
+                null, CurrentUser.id());
         
         return mapToTenantResponse(tenant);
     }
@@ -133,7 +170,7 @@ public class TenantService {
         tenant = tenantRepository.save(tenant);
         
         String diffJson = changes.length() > 1 ? changes.substring(0, changes.length() - 1) + "}" : null;
-        auditService.log("TENANT_UPDATED", "Tenant", id.toString(), diffJson, getCurrentUserId());
+        auditService.log("TENANT_UPDATED", "Tenant", id.toString(), diffJson, CurrentUser.id());
         
         return mapToTenantResponse(tenant);
     }
@@ -148,10 +185,11 @@ public class TenantService {
         }
         
         tenantRepository.delete(tenant);
+        dashboardCounters.tenantDeleted();
         
         auditService.log("TENANT_DELETED", "Tenant", id.toString(), 
                 String.format("{\"name\":\"%s\",\"slug\":\"%s\"}", tenant.getName(), tenant.getSlug()),
-                getCurrentUserId());
+                CurrentUser.id());
     }
     
     public TenantResponse suspendTenant(Long id, String reason) {
@@ -165,7 +203,7 @@ public class TenantService {
         
         auditService.log("TENANT_SUSPENDED", "Tenant", id.toString(),
                 String.format("{\"reason\":\"%s\"}", reason != null ? reason : "No reason provided"),
-                getCurrentUserId());
+                CurrentUser.id());
         
         return mapToTenantResponse(tenant);
     }
@@ -179,13 +217,13 @@ public class TenantService {
         
         tenant = tenantRepository.save(tenant);
         
-        auditService.log("TENANT_ACTIVATED", "Tenant", id.toString(), null, getCurrentUserId());
+        auditService.log("TENANT_ACTIVATED", "Tenant", id.toString(), null, CurrentUser.id());
         
         return mapToTenantResponse(tenant);
     }
     
     private TenantResponse mapToTenantResponse(Tenant tenant) {
-        long userCount = userRepository.countByTenantId(tenant.getId());
+        long userCount = dashboardCounters.usersInTenant(tenant.getId());
         
         return TenantResponse.builder()
                 .id(tenant.getId())
@@ -199,11 +237,4 @@ public class TenantService {
                 .userCount(userCount)
                 .build();
     }
-    
-    private Long getCurrentUserId() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
-                .map(User::getId)
-                .orElse(null);
-    }
 }
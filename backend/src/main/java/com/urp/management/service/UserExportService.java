@@ -0,0 +1,300 @@
+package com.urp.management.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.urp.management.domain.enums.DataFormat;
+import com.urp.management.domain.enums.UserStatus;
+import com.urp.management.security.CurrentUser;
+import com.urp.management.service.StreamingExport.RowSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams the user directory with tenants and role assignments. A single query joins users to
+ * their assignments ordered by user, and consecutive rows of the same user are folded into one
+ * record, so only the user being written is held in memory.
+ */
+@Slf4j
+@Service
+public class UserExportService {
+    
+    private static final String[] CSV_COLUMNS = {
+            "id", "email", "username", "display_name", "status", "tenant_id", "tenant_name",
+            "email_verified", "mfa_enabled", "created_at", "last_login_at", "roles"
+    };
+    
+    private final StreamingExport streamingExport;
+    private final ObjectMapper objectMapper;
+    private final AuditService auditService;
+    
+    private final Counter userCounter;
+    private final Timer exportTimer;
+    
+    public UserExportService(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             AuditService auditService,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.users.export.fetch-size:1000}") int fetchSize) {
+        this.streamingExport = new StreamingExport(dataSource, transactionManager, objectMapper, fetchSize);
+        this.objectMapper = objectMapper;
+        this.auditService = auditService;
+        
+        this.userCounter = meterRegistry.counter("users.export.rows");
+        this.exportTimer = meterRegistry.timer("users.export.duration");
+    }
+    
+    /**
+     * Records the export and returns a body that streams the matching users when written.
+     */
+    public StreamingResponseBody export(String query, UserStatus status, Long tenantId,
+                                        DataFormat format, boolean gzip) {
+        List<Object> args = new ArrayList<>();
+        String sql = buildQuery(query, status, tenantId, args);
+        
+        ObjectNode diff = objectMapper.createObjectNode()
+                .put("format", format.name())
+                .put("query", query)
+                .put("status", status != null ? status.name() : null)
+                .put("tenantId", tenantId);
+        auditService.log("USERS_EXPORTED", "User", null, diff.toString(), CurrentUser.id());
+        
+        return out -> stream(sql, args.toArray(), format, gzip, out);
+    }
+    
+    private void stream(String sql, Object[] args, DataFormat format, boolean gzip, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long[] users = {0};
+        
+        try {
+            streamingExport.stream(sql, args, gzip, out, writer -> format == DataFormat.CSV
+                    ? new CsvUserSink(writer, users)
+                    : new NdjsonUserSink(streamingExport.ndjson(writer), users));
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            userCounter.increment(users[0]);
+            exportTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Exported {} users in {} ms", users[0], elapsed / 1_000_000);
+        }
+    }
+    
+    private static String buildQuery(String query, UserStatus status, Long tenantId, List<Object> args) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT u.id, u.email, u.username, u.display_name, u.status, u.tenant_id, t.name AS tenant_name, " +
+                "u.email_verified, u.mfa_enabled, u.created_at, u.last_login_at, " +
+                "ur.role_id, r.name AS role_name, ur.scope_type, ur.scope_id, ur.granted_at, ur.expires_at " +
+                "FROM users u " +
+                "LEFT JOIN tenants t ON t.id = u.tenant_id " +
+                "LEFT JOIN user_roles ur ON ur.user_id = u.id " +
+                "LEFT JOIN roles r ON r.id = ur.role_id WHERE 1 = 1");
+        
+        if (query != null && !query.isBlank()) {
+            String pattern = "%" + query.toLowerCase().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            sql.append(" AND (LOWER(u.email) LIKE ? ESCAPE '\\' OR LOWER(u.username) LIKE ? ESCAPE '\\' " +
+                    "OR LOWER(u.display_name) LIKE ? ESCAPE '\\')");
+            args.add(pattern);
+            args.add(pattern);
+            args.add(pattern);
+        }
+        if (status != null) {
+            sql.append(" AND u.status = ?");
+            args.add(status.name());
+        }
+        if (tenantId != null) {
+            sql.append(" AND u.tenant_id = ?");
+            args.add(tenantId);
+        }
+        // Rows of one user must be adjacent for them to be folded together
+        sql.append(" ORDER BY u.id, ur.id");
+        return sql.toString();
+    }
+    
+    private static final class UserRecord {
+        private long id;
+        private String email;
+        private String username;
+        private String displayName;
+        private String status;
+        private Long tenantId;
+        private String tenantName;
+        private boolean emailVerified;
+        private boolean mfaEnabled;
+        private LocalDateTime createdAt;
+        private LocalDateTime lastLoginAt;
+        private final List<RoleRecord> roles = new ArrayList<>();
+        
+        static UserRecord from(ResultSet rs) throws SQLException {
+            UserRecord record = new UserRecord();
+            record.id = rs.getLong("id");
+            record.email = rs.getString("email");
+            record.username = rs.getString("username");
+            record.displayName = rs.getString("display_name");
+            record.status = rs.getString("status");
+            long tenantId = rs.getLong("tenant_id");
+            record.tenantId = rs.wasNull() ? null : tenantId;
+            record.tenantName = rs.getString("tenant_name");
+            record.emailVerified = rs.getBoolean("email_verified");
+            record.mfaEnabled = rs.getBoolean("mfa_enabled");
+            record.createdAt = StreamingExport.toLocalDateTime(rs.getTimestamp("created_at"));
+            record.lastLoginAt = StreamingExport.toLocalDateTime(rs.getTimestamp("last_login_at"));
+            return record;
+        }
+        
+        void addRole(ResultSet rs) throws SQLException {
+            long roleId = rs.getLong("role_id");
+            if (!rs.wasNull()) {
+                roles.add(new RoleRecord(roleId, rs.getString("role_name"), rs.getString("scope_type"),
+                        rs.getString("scope_id"), StreamingExport.toLocalDateTime(rs.getTimestamp("granted_at")),
+                        StreamingExport.toLocalDateTime(rs.getTimestamp("expires_at"))));
+            }
+        }
+    }
+    
+    private record RoleRecord(long roleId, String roleName, String scopeType, String scopeId,
+                              LocalDateTime grantedAt, LocalDateTime expiresAt) {
+    }
+    
+    /**
+     * Folds the consecutive rows of each user into one record and writes it once the next
+     * user starts, or the rows run out.
+     */
+    private abstract static class UserSink implements RowSink {
+        
+        private final long[] users;
+        private UserRecord current;
+        
+        UserSink(long[] users) {
+            this.users = users;
+        }
+        
+        @Override
+        public void accept(ResultSet rs) throws SQLException, IOException {
+            long id = rs.getLong("id");
+            if (current == null || current.id != id) {
+                flushCurrent();
+                current = UserRecord.from(rs);
+            }
+            current.addRole(rs);
+        }
+        
+        @Override
+        public void end() throws IOException {
+            flushCurrent();
+        }
+        
+        abstract void write(UserRecord user) throws IOException;
+        
+        private void flushCurrent() throws IOException {
+            if (current != null) {
+                write(current);
+                users[0]++;
+            }
+        }
+    }
+    
+    private static final class NdjsonUserSink extends UserSink {
+        
+        private final JsonGenerator generator;
+        
+        NdjsonUserSink(JsonGenerator generator, long[] users) {
+            super(users);
+            this.generator = generator;
+        }
+        
+        @Override
+        void write(UserRecord user) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", user.id);
+            generator.writeStringField("email", user.email);
+            generator.writeStringField("username", user.username);
+            generator.writeStringField("displayName", user.displayName);
+            generator.writeStringField("status", user.status);
+            if (user.tenantId != null) {
+                generator.writeNumberField("tenantId", user.tenantId);
+            } else {
+                generator.writeNullField("tenantId");
+            }
+            generator.writeStringField("tenantName", user.tenantName);
+            generator.writeBooleanField("emailVerified", user.emailVerified);
+            generator.writeBooleanField("mfaEnabled", user.mfaEnabled);
+            writeDate("createdAt", user.createdAt);
+            writeDate("lastLoginAt", user.lastLoginAt);
+            generator.writeArrayFieldStart("roles");
+            for (RoleRecord role : user.roles) {
+                generator.writeStartObject();
+                generator.writeNumberField("roleId", role.roleId());
+                generator.writeStringField("roleName", role.roleName());
+                generator.writeStringField("scopeType", role.scopeType());
+                generator.writeStringField("scopeId", role.scopeId());
+                writeDate("grantedAt", role.grantedAt());
+                writeDate("expiresAt", role.expiresAt());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        
+        @Override
+        public void end() throws IOException {
+            super.end();
+            generator.flush();
+        }
+        
+        private void writeDate(String field, LocalDateTime value) throws IOException {
+            generator.writeStringField(field, value != null ? value.toString() : null);
+        }
+    }
+    
+    private static final class CsvUserSink extends UserSink {
+        
+        private final Writer writer;
+        
+        CsvUserSink(Writer writer, long[] users) {
+            super(users);
+            this.writer = writer;
+        }
+        
+        @Override
+        public void begin() throws IOException {
+            StreamingExport.writeCsvRecord(writer, (Object[]) CSV_COLUMNS);
+        }
+        
+        @Override
+        void write(UserRecord user) throws IOException {
+            // Assignments go into one column as role@SCOPE[:scopeId], separated by semicolons
+            StringBuilder roles = new StringBuilder();
+            for (RoleRecord role : user.roles) {
+                if (!roles.isEmpty()) {
+                    roles.append(';');
+                }
+                roles.append(role.roleName()).append('@').append(role.scopeType());
+                if (role.scopeId() != null) {
+                    roles.append(':').append(role.scopeId());
+                }
+            }
+            
+            StreamingExport.writeCsvRecord(writer, user.id, user.email, user.username, user.displayName,
+                    user.status, user.tenantId, user.tenantName, user.emailVerified, user.mfaEnabled,
+                    user.createdAt, user.lastLoginAt, roles);
+        }
+    }
+}
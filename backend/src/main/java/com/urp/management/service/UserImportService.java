@@ -0,0 +1,533 @@
+package com.urp.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urp.management.domain.entity.Role;
+import com.urp.management.domain.entity.Tenant;
+import com.urp.management.domain.entity.User;
+import com.urp.management.domain.enums.DataFormat;
+import com.urp.management.domain.enums.ScopeType;
+import com.urp.management.domain.enums.UserStatus;
+import com.urp.management.dto.request.UserImportRow;
+import com.urp.management.dto.response.UserImportResponse;
+import com.urp.management.repository.IdAllocator;
+import com.urp.management.repository.RoleRepository;
+import com.urp.management.repository.TenantRepository;
+import com.urp.management.repository.UserRepository;
+import com.urp.management.search.UserSearchIndex;
+import com.urp.management.security.CurrentUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Creates users in bulk from a CSV or NDJSON stream. Rows are validated and de-duplicated as
+ * they are read, then handled in batches: existing emails and usernames are looked up with one
+ * query per batch, passwords are hashed on a bounded worker pool and users plus their default
+ * role grant are written with JDBC batch inserts, one transaction per batch.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+    
+    private static final String DEFAULT_ROLE = "User";
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+    private static final int MAX_REJECTED = 10_000;
+    private static final int MAX_RECORD_CHARS = 1 << 20;
+    
+    private static final String INSERT_USER_SQL = "INSERT INTO users (id, tenant_id, email, username, password_hash, " +
+            "status, display_name, phone, locale, timezone, email_verified, phone_verified, mfa_enabled, " +
+            "authority_version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, FALSE, FALSE, 0, ?, ?)";
+    private static final String INSERT_USER_ROLE_SQL = "INSERT INTO user_roles (id, user_id, role_id, " +
+            "scope_type, scope_id, granted_by, granted_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final IdAllocator idAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final TenantRepository tenantRepository;
+    private final AuditService auditService;
+    private final DashboardCounters dashboardCounters;
+    private final UserSearchIndex userSearchIndex;
+    private final ExecutorService hashPool;
+    private final int batchSize;
+    
+    private final Counter importedCounter;
+    private final Counter rejectedCounter;
+    
+    public UserImportService(JdbcTemplate jdbcTemplate,
+                             IdAllocator idAllocator,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             PasswordEncoder passwordEncoder,
+                             UserRepository userRepository,
+                             RoleRepository roleRepository,
+                             TenantRepository tenantRepository,
+                             AuditService auditService,
+                             DashboardCounters dashboardCounters,
+                             UserSearchIndex userSearchIndex,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.users.import.batch-size:1000}") int batchSize,
+                             @Value("${app.users.import.hash-threads:0}") int hashThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.tenantRepository = tenantRepository;
+        this.auditService = auditService;
+        this.dashboardCounters = dashboardCounters;
+        this.userSearchIndex = userSearchIndex;
+        this.batchSize = Math.max(1, batchSize);
+        
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Shared by concurrent imports; each one only has a batch of hashes in flight
+        this.hashPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hash-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        this.importedCounter = meterRegistry.counter("users.import.created");
+        this.rejectedCounter = meterRegistry.counter("users.import.rejected");
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdownNow();
+    }
+    
+    public UserImportResponse importUsers(InputStream body, DataFormat format, Long tenantId, boolean gzip)
+            throws IOException {
+        long started = System.nanoTime();
+        Tenant tenant = tenantId != null
+                ? tenantRepository.findById(tenantId).orElseThrow(() -> new RuntimeException("Tenant not found"))
+                : null;
+        Role defaultRole = roleRepository.findByName(DEFAULT_ROLE)
+                .orElseThrow(() -> new RuntimeException("Default User role not found"));
+        Long currentUserId = CurrentUser.id();
+        
+        ImportRun run = new ImportRun(tenant, defaultRole.getId(), currentUserId);
+        InputStream input = gzip ? new GZIPInputStream(body, 65536) : body;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 65536)) {
+            String[] header = null;
+            long rowNumber = 0;
+            List<PendingRow> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = nextRecord(reader, format)) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == DataFormat.CSV && header == null) {
+                    header = parseHeader(line);
+                    continue;
+                }
+                
+                rowNumber++;
+                run.total++;
+                PendingRow row = parse(run, rowNumber, line, format, header);
+                if (row != null) {
+                    batch.add(row);
+                }
+                if (batch.size() >= batchSize) {
+                    writeBatch(run, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(run, batch);
+            }
+        }
+        
+        // Rows rejected against the database are only known once their batch is written
+        run.rejected.sort(Comparator.comparingLong(UserImportResponse.RowResult::getRow));
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        auditService.log("USERS_IMPORTED", "User", null,
+                String.format("{\"format\":\"%s\",\"tenantId\":%s,\"total\":%d,\"created\":%d,\"skipped\":%d,\"failed\":%d}",
+                        format, tenantId, run.total, run.created, run.skipped, run.failed),
+                currentUserId);
+        log.info("Imported {} of {} users in {} ms", run.created, run.total, durationMs);
+        
+        return UserImportResponse.builder()
+                .total(run.total)
+                .created(run.created)
+                .skipped(run.skipped)
+                .failed(run.failed)
+                .durationMs(durationMs)
+                .rejected(run.rejected)
+                .build();
+    }
+    
+    private PendingRow parse(ImportRun run, long rowNumber, String line, DataFormat format, String[] header) {
+        UserImportRow row;
+        try {
+            row = format == DataFormat.CSV
+                    ? toRow(header, parseCsvLine(line))
+                    : objectMapper.readValue(line, UserImportRow.class);
+        } catch (IOException | IllegalArgumentException e) {
+            run.reject(rowNumber, null, "FAILED", "Malformed row");
+            return null;
+        }
+        
+        Set<ConstraintViolation<UserImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            run.reject(rowNumber, row.getEmail(), "FAILED", violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        if (row.getPasswordHash() != null) {
+            if (!BCRYPT_HASH.matcher(row.getPasswordHash()).matches()) {
+                run.reject(rowNumber, row.getEmail(), "FAILED", "Password hash must be a BCrypt hash");
+                return null;
+            }
+        } else if (row.getPassword() == null || row.getPassword().isBlank()) {
+            run.reject(rowNumber, row.getEmail(), "FAILED", "Password is required");
+            return null;
+        }
+        
+        if (!run.seenEmails.add(row.getEmail())) {
+            run.reject(rowNumber, row.getEmail(), "SKIPPED", "Duplicate email in file");
+            return null;
+        }
+        if (row.getUsername() != null && !run.seenUsernames.add(row.getUsername())) {
+            run.reject(rowNumber, row.getEmail(), "SKIPPED", "Duplicate username in file");
+            return null;
+        }
+        return new PendingRow(rowNumber, row);
+    }
+    
+    private void writeBatch(ImportRun run, List<PendingRow> batch) {
+        Set<String> existingEmails = new HashSet<>(userRepository.findExistingEmails(
+                batch.stream().map(row -> row.data().getEmail()).collect(Collectors.toList())));
+        List<String> usernames = batch.stream()
+                .map(row -> row.data().getUsername())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        Set<String> existingUsernames = usernames.isEmpty()
+                ? Set.of()
+                : new HashSet<>(userRepository.findExistingUsernames(usernames));
+        
+        List<PendingRow> accepted = new ArrayList<>(batch.size());
+        for (PendingRow row : batch) {
+            if (existingEmails.contains(row.data().getEmail())) {
+                run.reject(row.number(), row.data().getEmail(), "SKIPPED", "Email already exists");
+            } else if (row.data().getUsername() != null && existingUsernames.contains(row.data().getUsername())) {
+                run.reject(row.number(), row.data().getEmail(), "SKIPPED", "Username already exists");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        
+        List<String> hashes = hashPasswords(accepted);
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(run, accepted, hashes));
+            run.created += accepted.size();
+            importedCounter.increment(accepted.size());
+        } catch (DataAccessException e) {
+            // Most likely a row raced with another writer; isolate it instead of losing the batch
+            log.warn("Batch import of {} users failed, retrying one by one: {}", accepted.size(), e.getMessage());
+            for (int i = 0; i < accepted.size(); i++) {
+                PendingRow row = accepted.get(i);
+                List<String> hash = List.of(hashes.get(i));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(run, List.of(row), hash));
+                    run.created++;
+                    importedCounter.increment();
+                } catch (DataAccessException rowError) {
+                    run.reject(row.number(), row.data().getEmail(), "FAILED", "Could not be stored");
+                }
+            }
+        }
+    }
+    
+    private List<String> hashPasswords(List<PendingRow> rows) {
+        List<Future<String>> futures = new ArrayList<>(rows.size());
+        for (PendingRow row : rows) {
+            UserImportRow data = row.data();
+            futures.add(data.getPasswordHash() != null
+                    ? CompletableFuture.completedFuture(data.getPasswordHash())
+                    : hashPool.submit(() -> passwordEncoder.encode(data.getPassword())));
+        }
+        
+        List<String> hashes = new ArrayList<>(rows.size());
+        try {
+            for (Future<String> future : futures) {
+                hashes.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("User import interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+        return hashes;
+    }
+    
+    private void insert(ImportRun run, List<PendingRow> rows, List<String> hashes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Long tenantId = run.tenant != null ? run.tenant.getId() : null;
+        
+        long[] ids = idAllocator.allocate("users_seq", rows.size());
+        long[] grantIds = idAllocator.allocate("user_roles_seq", rows.size());
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                UserImportRow data = rows.get(i).data();
+                ps.setLong(1, ids[i]);
+                setLong(ps, 2, tenantId);
+                ps.setString(3, data.getEmail());
+                ps.setString(4, data.getUsername());
+                ps.setString(5, hashes.get(i));
+                ps.setString(6, statusOf(data).name());
+                ps.setString(7, data.getDisplayName());
+                ps.setString(8, data.getPhone());
+                ps.setString(9, data.getLocale());
+                ps.setString(10, data.getTimezone());
+                ps.setTimestamp(11, now);
+                ps.setTimestamp(12, now);
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, grantIds[i]);
+                ps.setLong(2, ids[i]);
+                ps.setLong(3, run.defaultRoleId);
+                ps.setString(4, (tenantId != null ? ScopeType.TENANT : ScopeType.GLOBAL).name());
+                ps.setString(5, tenantId != null ? tenantId.toString() : null);
+                setLong(ps, 6, run.grantedBy);
+                ps.setTimestamp(7, now);
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return ids.length;
+            }
+        });
+        
+        for (int i = 0; i < rows.size(); i++) {
+            UserImportRow data = rows.get(i).data();
+            User user = User.builder()
+                    .id(ids[i])
+                    .tenant(run.tenant)
+                    .email(data.getEmail())
+                    .username(data.getUsername())
+                    .displayName(data.getDisplayName())
+                    .status(statusOf(data))
+                    .build();
+            dashboardCounters.userCreated(user.getStatus(), tenantId);
+            userSearchIndex.update(user);
+        }
+    }
+    
+    private static UserStatus statusOf(UserImportRow data) {
+        return data.getStatus() != null ? data.getStatus() : UserStatus.ACTIVE;
+    }
+    
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+    
+    /**
+     * Reads the next record: one line for NDJSON, and for CSV as many lines as it takes to close
+     * the quoted fields, so quoted values may span lines. Line breaks inside a value come back as
+     * {@code \n}. A record that is still open after {@code MAX_RECORD_CHARS} is returned as is and
+     * rejected as malformed.
+     */
+    private static String nextRecord(BufferedReader reader, DataFormat format) throws IOException {
+        String line = reader.readLine();
+        if (line == null || format != DataFormat.CSV || !hasOpenQuote(line)) {
+            return line;
+        }
+        StringBuilder record = new StringBuilder(line);
+        boolean open = true;
+        while (open && record.length() < MAX_RECORD_CHARS && (line = reader.readLine()) != null) {
+            record.append('\n').append(line);
+            // Doubled quotes leave the state unchanged, so the parity of the count decides
+            open = hasOpenQuote(line) != open;
+        }
+        return record.toString();
+    }
+    
+    private static boolean hasOpenQuote(String line) {
+        int quotes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 == 1;
+    }
+    
+    private static String[] parseHeader(String line) {
+        String[] header = parseCsvLine(line);
+        for (int i = 0; i < header.length; i++) {
+            // Accept display_name, DisplayName and displayName alike
+            header[i] = header[i].trim().replace("_", "").toLowerCase();
+        }
+        return header;
+    }
+    
+    private static UserImportRow toRow(String[] header, String[] values) {
+        if (header == null || values.length > header.length) {
+            throw new IllegalArgumentException("Row does not match the header");
+        }
+        UserImportRow row = new UserImportRow();
+        for (int i = 0; i < values.length; i++) {
+            String value = values[i].isEmpty() ? null : values[i];
+            switch (header[i]) {
+                case "email" -> row.setEmail(value);
+                case "username" -> row.setUsername(value);
+                case "password" -> row.setPassword(value);
+                case "passwordhash" -> row.setPasswordHash(value);
+                case "displayname" -> row.setDisplayName(value);
+                case "phone" -> row.setPhone(value);
+                case "status" -> row.setStatus(value != null ? UserStatus.valueOf(value.trim().toUpperCase()) : null);
+                case "locale" -> row.setLocale(value);
+                case "timezone" -> row.setTimezone(value);
+                default -> {
+                    // Unknown columns are ignored
+                }
+            }
+        }
+        return row;
+    }
+    
+    /**
+     * Splits one CSV record following RFC 4180 quoting. Quoted fields may contain commas,
+     * doubled quotes and line breaks.
+     */
+    private static String[] parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+    
+    private record PendingRow(long number, UserImportRow data) {
+    }
+    
+    private final class ImportRun {
+        
+        private final Tenant tenant;
+        private final Long defaultRoleId;
+        private final Long grantedBy;
+        private final Set<String> seenEmails = new HashSet<>();
+        private final Set<String> seenUsernames = new HashSet<>();
+        private final List<UserImportResponse.RowResult> rejected = new ArrayList<>();
+        private long total;
+        private long created;
+        private long skipped;
+        private long failed;
+        
+        private ImportRun(Tenant tenant, Long defaultRoleId, Long grantedBy) {
+            this.tenant = tenant;
+            this.defaultRoleId = defaultRoleId;
+            this.grantedBy = grantedBy;
+        }
+        
+        private void reject(long row, String email, String status, String message) {
+            if ("SKIPPED".equals(status)) {
+                skipped++;
+            } else {
+                failed++;
+            }
+            rejectedCounter.increment();
+            // The counts stay exact; only the listing is capped
+            if (rejected.size() < MAX_REJECTED) {
+                rejected.add(UserImportResponse.RowResult.builder()
+                        .row(row)
+                        .email(email)
+                        .status(status)
+                        .message(message)
+                        .build());
+            }
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.urp.management.service;
+
+import com.urp.management.domain.entity.User;
+import com.urp.management.domain.enums.UserLifecycleAction;
+import com.urp.management.domain.enums.UserStatus;
+import com.urp.management.dto.request.BulkUserLifecycleRequest;
+import com.urp.management.dto.response.UserLifecycleJobResponse;
+import com.urp.management.repository.SessionRepository;
+import com.urp.management.repository.UserRepository;
+import com.urp.management.repository.UserSpecifications;
+import com.urp.management.search.UserSearchIndex;
+import com.urp.management.security.AuthorityChangeNotifier;
+import com.urp.management.security.CurrentUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Suspends, bans or unbans many users at once. A job runs in the background and works through
+ * its users in chunks; each chunk is one transaction that flips the columns with a bulk update,
+ * revokes the sessions of users who lose access and writes one audit record. Jobs are kept in
+ * memory, so progress is lost on restart while the chunks already committed stay applied.
+ * A dry run only counts the matching users; jobs above the confirm threshold must echo that
+ * count back in {@code confirmTotal} before they start.
+ */
+@Slf4j
+@Service
+public class UserLifecycleJobService implements DisposableBean {
+    
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final UserRepository userRepository;
+    private final SessionRepository sessionRepository;
+    private final AuditService auditService;
+    private final AuthorityChangeNotifier authorityChangeNotifier;
+    private final DashboardCounters dashboardCounters;
+    private final UserSearchIndex userSearchIndex;
+    private final ExecutorService runner;
+    private final int chunkSize;
+    private final int retainedJobs;
+    private final long confirmThreshold;
+    
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+    
+    public UserLifecycleJobService(PlatformTransactionManager transactionManager,
+                                   EntityManager entityManager,
+                                   UserRepository userRepository,
+                                   SessionRepository sessionRepository,
+                                   AuditService auditService,
+                                   AuthorityChangeNotifier authorityChangeNotifier,
+                                   DashboardCounters dashboardCounters,
+                                   UserSearchIndex userSearchIndex,
+                                   @Value("${app.users.lifecycle.chunk-size:1000}") int chunkSize,
+                                   @Value("${app.users.lifecycle.retained-jobs:100}") int retainedJobs,
+                                   @Value("${app.users.lifecycle.confirm-threshold:1000}") long confirmThreshold) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.userRepository = userRepository;
+        this.sessionRepository = sessionRepository;
+        this.auditService = auditService;
+        this.authorityChangeNotifier = authorityChangeNotifier;
+        this.dashboardCounters = dashboardCounters;
+        this.userSearchIndex = userSearchIndex;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.retainedJobs = Math.max(1, retainedJobs);
+        this.confirmThreshold = Math.max(0, confirmThreshold);
+        
+        // One job at a time keeps concurrent jobs from fighting over the same rows
+        this.runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-lifecycle");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    public UserLifecycleJobResponse submit(BulkUserLifecycleRequest request) {
+        boolean byIds = request.getUserIds() != null && !request.getUserIds().isEmpty();
+        if (byIds == (request.getFilter() != null)) {
+            throw new RuntimeException("Either user IDs or a filter is required, not both");
+        }
+        if (!byIds && request.getFilter().isEmpty()) {
+            throw new RuntimeException("Filter must have at least one criterion");
+        }
+        UserStatus targetStatus = targetStatus(request);
+        if (request.getAction() == UserLifecycleAction.BAN
+                && (request.getBanReason() == null || request.getBanReason().isBlank())) {
+            throw new RuntimeException("Ban reason is required");
+        }
+        
+        // The caller never changes their own status through a bulk job
+        Long actorId = CurrentUser.id();
+        List<Long> userIds = null;
+        Specification<User> filter = null;
+        if (byIds) {
+            LinkedHashSet<Long> distinct = new LinkedHashSet<>(request.getUserIds());
+            distinct.remove(actorId);
+            userIds = new ArrayList<>(distinct);
+        } else {
+            filter = UserSpecifications.matching(request.getFilter().getQuery(),
+                    request.getFilter().getStatus(), request.getFilter().getTenantId());
+            if (actorId != null) {
+                filter = filter.and(UserSpecifications.excludingId(actorId));
+            }
+        }
+        long total = byIds ? userIds.size() : userRepository.count(filter);
+        
+        Job job = new Job(UUID.randomUUID().toString(), request, targetStatus, actorId, total);
+        if (request.isDryRun()) {
+            return job.preview();
+        }
+        if (total > confirmThreshold && !Long.valueOf(total).equals(request.getConfirmTotal())) {
+            throw new RuntimeException(String.format(
+                    "Job would affect %d users; resubmit with confirmTotal=%d to proceed", total, total));
+        }
+        
+        register(job);
+        List<Long> ids = userIds;
+        Specification<User> spec = filter;
+        try {
+            runner.execute(() -> run(job, ids, spec));
+        } catch (RejectedExecutionException e) {
+            job.fail("Job runner is shut down");
+        }
+        return job.toResponse();
+    }
+    
+    public UserLifecycleJobResponse getJob(String id) {
+        Job job;
+        synchronized (jobs) {
+            job = jobs.get(id);
+        }
+        if (job == null) {
+            throw new RuntimeException("Lifecycle job not found");
+        }
+        return job.toResponse();
+    }
+    
+    @Override
+    public void destroy() {
+        runner.shutdownNow();
+    }
+    
+    private void run(Job job, List<Long> userIds, Specification<User> filter) {
+        job.start();
+        try {
+            if (userIds != null) {
+                for (int from = 0; from < userIds.size(); from += chunkSize) {
+                    List<Long> chunk = userIds.subList(from, Math.min(from + chunkSize, userIds.size()));
+                    transactionTemplate.executeWithoutResult(status -> apply(job, chunk));
+                }
+            } else {
+                // Keyset over id: users the job already changed may drop out of the filter
+                long afterId = 0;
+                while (true) {
+                    long after = afterId;
+                    List<Long> chunk = transactionTemplate.execute(status -> {
+                        List<Long> ids = nextIds(filter, after);
+                        if (!ids.isEmpty()) {
+                            apply(job, ids);
+                        }
+                        return ids;
+                    });
+                    if (chunk == null || chunk.isEmpty()) {
+                        break;
+                    }
+                    afterId = chunk.get(chunk.size() - 1);
+                }
+            }
+            job.complete();
+            log.info("Lifecycle job {} {} {} of {} users", job.id, job.action, job.updated, job.processed);
+        } catch (RuntimeException e) {
+            log.error("Lifecycle job {} failed after {} users", job.id, job.processed, e);
+            job.fail(e.getMessage());
+        }
+    }
+    
+    private void apply(Job job, List<Long> chunk) {
+        Map<UserStatus, Long> previous = new EnumMap<>(UserStatus.class);
+        List<Long> targets = new ArrayList<>();
+        for (Object[] row : userRepository.findStatusesByIdIn(chunk)) {
+            UserStatus current = (UserStatus) row[1];
+            if (applies(job.action, current, job.targetStatus)) {
+                targets.add((Long) row[0]);
+                previous.merge(current, 1L, Long::sum);
+            }
+        }
+        
+        long sessionsRevoked = 0;
+        if (!targets.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            boolean banned = job.targetStatus == UserStatus.BANNED;
+            userRepository.updateLifecycleByIds(targets, job.targetStatus, banned ? now : null,
+                    banned ? job.banReason : null, banned ? job.banExpiresAt : null, now);
+            if (job.targetStatus != UserStatus.ACTIVE) {
+                sessionsRevoked = sessionRepository.revokeByUserIdIn(targets, now);
+            }
+            authorityChangeNotifier.usersChanged(targets);
+            dashboardCounters.usersStatusChanged(previous, job.targetStatus);
+            userSearchIndex.updateStatus(targets, job.targetStatus);
+            
+            auditService.log(auditAction(job.action), "User", null,
+                    String.format("{\"jobId\":\"%s\",\"chunk\":%d,\"status\":\"%s\",\"reason\":%s,\"userIds\":[%s]}",
+                            job.id, job.chunks + 1, job.targetStatus, quote(job.banReason),
+                            targets.stream().map(String::valueOf).collect(Collectors.joining(","))),
+                    job.actorUserId);
+        }
+        
+        // Counted once the chunk commits
+        long updated = targets.size();
+        long revoked = sessionsRevoked;
+        runAfterCommit(() -> job.chunkDone(chunk.size(), updated, revoked));
+    }
+    
+    private List<Long> nextIds(Specification<User> filter, long afterId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<User> root = query.from(User.class);
+        query.select(root.get("id"))
+                .where(filter.and(UserSpecifications.afterId(afterId)).toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(chunkSize).getResultList();
+    }
+    
+    private void register(Job job) {
+        synchronized (jobs) {
+            Iterator<Job> iterator = jobs.values().iterator();
+            while (jobs.size() >= retainedJobs && iterator.hasNext()) {
+                if (iterator.next().finishedAt != null) {
+                    iterator.remove();
+                }
+            }
+            jobs.put(job.id, job);
+        }
+    }
+    
+    private static UserStatus targetStatus(BulkUserLifecycleRequest request) {
+        return switch (request.getAction()) {
+            case BAN -> UserStatus.BANNED;
+            case UNBAN -> UserStatus.ACTIVE;
+            case SET_STATUS -> {
+                if (request.getTargetStatus() == null) {
+                    throw new RuntimeException("Target status is required");
+                }
+                yield request.getTargetStatus();
+            }
+        };
+    }
+    
+    private static boolean applies(UserLifecycleAction action, UserStatus current, UserStatus target) {
+        if (action == UserLifecycleAction.UNBAN) {
+            return current == UserStatus.BANNED;
+        }
+        return current != target;
+    }
+    
+    private static String auditAction(UserLifecycleAction action) {
+        return switch (action) {
+            case SET_STATUS -> "USERS_STATUS_UPDATED";
+            case BAN -> "USERS_BANNED";
+            case UNBAN -> "USERS_UNBANNED";
+        };
+    }
+    
+    private static String quote(String value) {
+        return value != null ? "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"" : "null";
+    }
+    
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    private static final class Job {
+        private final String id;
+        private final UserLifecycleAction action;
+        private final UserStatus targetStatus;
+        private final String banReason;
+        private final LocalDateTime banExpiresAt;
+        private final Long actorUserId;
+        private final long total;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        
+        private volatile String state = "QUEUED";
+        private volatile long processed;
+        private volatile long updated;
+        private volatile long sessionsRevoked;
+        private volatile int chunks;
+        private volatile String error;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        
+        private Job(String id, BulkUserLifecycleRequest request, UserStatus targetStatus, Long actorUserId, long total) {
+            this.id = id;
+            this.action = request.getAction();
+            this.targetStatus = targetStatus;
+            this.banReason = request.getAction() == UserLifecycleAction.BAN ? request.getBanReason() : null;
+            this.banExpiresAt = request.getAction() == UserLifecycleAction.BAN ? request.getBanExpiresAt() : null;
+            this.actorUserId = actorUserId;
+            this.total = total;
+        }
+        
+        // Only the runner thread writes progress; readers may see a chunk half-counted
+        private void start() {
+            startedAt = LocalDateTime.now();
+            state = "RUNNING";
+        }
+        
+        private void chunkDone(long size, long changed, long revoked) {
+            processed += size;
+            updated += changed;
+            sessionsRevoked += revoked;
+            chunks++;
+        }
+        
+        private void complete() {
+            finishedAt = LocalDateTime.now();
+            state = "COMPLETED";
+        }
+        
+        private UserLifecycleJobResponse preview() {
+            state = "DRY_RUN";
+            return toResponse();
+        }
+        
+        private void fail(String message) {
+            error = message;
+            finishedAt = LocalDateTime.now();
+            state = "FAILED";
+        }
+        
+        private UserLifecycleJobResponse toResponse() {
+            long done = processed;
+            return UserLifecycleJobResponse.builder()
+                    .id(id)
+                    .action(action)
+                    .targetStatus(targetStatus)
+                    .state(state)
+                    .total(Math.max(total, done))
+                    .processed(done)
+                    .updated(updated)
+                    .skipped(done - updated)
+                    .sessionsRevoked(sessionsRevoked)
+                    .chunks(chunks)
+                    .error(error)
+                    .createdAt(createdAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -7,18 +7,27 @@ import com.urp.management.dto.request.AssignRoleRequest;
 import com.urp.management.dto.request.CreateUserRequest;
 import com.urp.management.dto.request.UpdatePasswordRequest;
 import com.urp.management.dto.request.UpdateUserProfileRequest;
+import com.urp.management.dto.response.CursorPageResponse;
 import com.urp.management.dto.response.UserResponse;
 import com.urp.management.dto.response.UserRoleResponse;
 import com.urp.management.repository.*;
+import com.urp.management.search.UserSearchIndex;
+import com.urp.management.security.AuthorityChangeNotifier;
+import com.urp.management.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -27,16 +36,74 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserService {
     
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    
     private final UserRepository userRepository;
     private final TenantRepository tenantRepository;
     private final RoleRepository roleRepository;
     private final UserRoleRepository userRoleRepository;
     private final AuditService auditService;
     private final PasswordEncoder passwordEncoder;
+    private final AuthorityChangeNotifier authorityChangeNotifier;
+    private final DashboardCounters dashboardCounters;
+    private final UserSearchIndex userSearchIndex;
     
     public Page<UserResponse> searchUsers(String query, UserStatus status, Long tenantId, Pageable pageable) {
-        return userRepository.searchUsers(query, status, tenantId, pageable)
-                .map(this::mapToUserResponse);
+        Page<User> users = userRepository.findAll(UserSpecifications.matching(query, status, tenantId)
+                .and(UserSpecifications.fetchTenant()), pageable);
+        Map<Long, List<UserRole>> rolesByUser = findRolesByUser(users.getContent());
+        return users.map(user -> mapToUserResponse(user, rolesByUser.getOrDefault(user.getId(), List.of())));
+    }
+    
+    public CursorPageResponse<UserResponse> scrollUsers(String query, UserStatus status, Long tenantId,
+                                                        String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Specification<User> spec = UserSpecifications.matching(query, status, tenantId)
+                .and(UserSpecifications.fetchTenant());
+        if (after != null) {
+            spec = spec.and(UserSpecifications.before(after.createdAt(), after.id()));
+        }
+        
+        // Fetch one extra row to learn whether another page exists without counting
+        List<User> users = userRepository.findBy(spec, q -> q
+                .sortBy(NEWEST_FIRST)
+                .limit(size + 1)
+                .all());
+        
+        boolean hasMore = users.size() > size;
+        if (hasMore) {
+            users = users.subList(0, size);
+        }
+        User last = users.isEmpty() ? null : users.get(users.size() - 1);
+        Map<Long, List<UserRole>> rolesByUser = findRolesByUser(users);
+        
+        return CursorPageResponse.<UserResponse>builder()
+                .content(users.stream()
+                        .map(user -> mapToUserResponse(user, rolesByUser.getOrDefault(user.getId(), List.of())))
+                        .toList())
+                .nextCursor(hasMore ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .approximateTotal(approximateTotal(query, status, tenantId))
+                .build();
+    }
+    
+    /**
+     * Ranked substring lookup for the admin search box, served by {@link UserSearchIndex}.
+     */
+    public List<UserResponse> lookupUsers(String query, UserStatus status, Long tenantId, int limit) {
+        List<Long> ids = userSearchIndex.search(query, status, tenantId, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, User> users = userRepository.findAll(UserSpecifications.withIds(ids)
+                        .and(UserSpecifications.fetchTenant())).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        Map<Long, List<UserRole>> rolesByUser = findRolesByUser(List.copyOf(users.values()));
+        return ids.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(user -> mapToUserResponse(user, rolesByUser.getOrDefault(user.getId(), List.of())))
+                .toList();
     }
     
     public UserResponse getUserById(Long id) {
@@ -79,12 +146,9 @@ public class UserService {
         Role defaultRole = roleRepository.findByName("User")
                 .orElseThrow(() -> new RuntimeException("Default User role not found"));
         
-        User grantedBy = null;
-        try {
-            grantedBy = getCurrentUser();
-        } catch (Exception e) {
-            // Current user might not exist during initial setup - that's okay
-        }
+        // No acting user during initial setup
+        Long actorId = CurrentUser.id();
+        User grantedBy = actorId != null ? userRepository.getReferenceById(actorId) : null;
         
         UserRole userRole = UserRole.builder()
                 .user(user)
@@ -98,9 +162,11 @@ public class UserService {
                 .build();
         
         userRoleRepository.save(userRole);
+        dashboardCounters.userCreated(user.getStatus(), request.getTenantId());
+        userSearchIndex.update(user);
         
         auditService.log("USER_CREATED", "User", user.getId().toString(), 
-                null, getCurrentUserId());
+                null, CurrentUser.id());
         
         return mapToUserResponse(user);
     }
@@ -121,10 +187,13 @@ public class UserService {
         }
         
         user = userRepository.save(user);
+        authorityChangeNotifier.userChanged(user);
+        dashboardCounters.userStatusChanged(oldStatus, status);
+        userSearchIndex.update(user);
         
         auditService.log("USER_STATUS_UPDATED", "User", id.toString(),
                 String.format("{\"old\":\"%s\",\"new\":\"%s\"}", oldStatus, status),
-                getCurrentUserId());
+                CurrentUser.id());
         
         return mapToUserResponse(user);
     }
@@ -137,16 +206,20 @@ public class UserService {
             throw new RuntimeException("Ban reason is required");
         }
         
+        UserStatus oldStatus = user.getStatus();
         user.setStatus(UserStatus.BANNED);
         user.setBannedAt(LocalDateTime.now());
         user.setBanReason(reason);
         user.setBanExpiresAt(expiresAt);
         
         user = userRepository.save(user);
+        authorityChangeNotifier.userChanged(user);
+        dashboardCounters.userStatusChanged(oldStatus, UserStatus.BANNED);
+        userSearchIndex.update(user);
         
         auditService.log("USER_BANNED", "User", id.toString(),
                 String.format("{\"reason\":\"%s\",\"expires\":\"%s\"}", reason, expiresAt),
-                getCurrentUserId());
+                CurrentUser.id());
         
         return mapToUserResponse(user);
     }
@@ -176,11 +249,12 @@ public class UserService {
                 .build();
         
         userRole = userRoleRepository.save(userRole);
+        authorityChangeNotifier.userChanged(user);
         
         auditService.log("ROLE_ASSIGNED", "UserRole", userRole.getId().toString(),
                 String.format("{\"userId\":%d,\"roleId\":%d,\"scope\":\"%s\"}", 
                         userId, role.getId(), request.getScopeType()),
-                getCurrentUserId());
+                CurrentUser.id());
         
         return mapToUserRoleResponse(userRole);
     }
@@ -190,10 +264,11 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("Role assignment not found for user"));
         
         userRoleRepository.delete(userRole);
+        authorityChangeNotifier.userChanged(userRole.getUser());
         
         auditService.log("ROLE_REMOVED", "UserRole", userRoleId.toString(),
                 String.format("{\"userId\":%d}", userId),
-                getCurrentUserId());
+                CurrentUser.id());
     }
     
     public UserResponse updateProfile(Long userId, UpdateUserProfileRequest request) {
@@ -221,9 +296,10 @@ public class UserService {
         }
         
         user = userRepository.save(user);
+        userSearchIndex.update(user);
         
         auditService.log("USER_PROFILE_UPDATED", "User", userId.toString(),
-                null, getCurrentUserId());
+                null, CurrentUser.id());
         
         return mapToUserResponse(user);
     }
@@ -232,8 +308,7 @@ public class UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        User currentUser = getCurrentUser();
-        if (!currentUser.getId().equals(userId)) {
+        if (!userId.equals(CurrentUser.requireId())) {
             throw new RuntimeException("You can only update your own password");
         }
         
@@ -245,7 +320,7 @@ public class UserService {
         userRepository.save(user);
         
         auditService.log("USER_PASSWORD_UPDATED", "User", userId.toString(),
-                null, getCurrentUserId());
+                null, CurrentUser.id());
     }
     
     public void adminResetPassword(Long userId, AdminResetPasswordRequest request) {
@@ -256,11 +331,41 @@ public class UserService {
         userRepository.save(user);
         
         auditService.log("USER_PASSWORD_RESET_BY_ADMIN", "User", userId.toString(),
-                null, getCurrentUserId());
+                null, CurrentUser.id());
+    }
+    
+    /**
+     * Total served from the dashboard counters, which only track users by status and by tenant.
+     */
+    private Long approximateTotal(String query, UserStatus status, Long tenantId) {
+        if ((query != null && !query.isBlank()) || (status != null && tenantId != null)) {
+            return null;
+        }
+        if (status != null) {
+            return dashboardCounters.usersWithStatus(status);
+        }
+        return tenantId != null ? dashboardCounters.usersInTenant(tenantId) : dashboardCounters.totalUsers();
+    }
+    
+    /**
+     * Loads the grants of a page of users, with their roles and granters, in a single query
+     * instead of initializing each user's collection.
+     */
+    private Map<Long, List<UserRole>> findRolesByUser(List<User> users) {
+        if (users.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = users.stream().map(User::getId).collect(Collectors.toList());
+        return userRoleRepository.findWithRoleAndGranterByUserIdIn(ids).stream()
+                .collect(Collectors.groupingBy(userRole -> userRole.getUser().getId()));
     }
     
     private UserResponse mapToUserResponse(User user) {
-        Set<UserRoleResponse> roles = user.getUserRoles().stream()
+        return mapToUserResponse(user, user.getUserRoles());
+    }
+    
+    private UserResponse mapToUserResponse(User user, Collection<UserRole> userRoles) {
+        Set<UserRoleResponse> roles = userRoles.stream()
                 .map(this::mapToUserRoleResponse)
                 .collect(Collectors.toSet());
         
@@ -296,16 +401,7 @@ public class UserService {
                 .build();
     }
     
-    private Long getCurrentUserId() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
-                .map(User::getId)
-                .orElse(null);
-    }
-    
     private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
+        return userRepository.getReferenceById(CurrentUser.requireId());
     }
 }
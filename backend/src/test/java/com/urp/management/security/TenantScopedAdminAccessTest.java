@@ -0,0 +1,146 @@
+package com.urp.management.security;
+
+import com.urp.management.domain.entity.Permission;
+import com.urp.management.domain.entity.Role;
+import com.urp.management.domain.entity.Tenant;
+import com.urp.management.domain.entity.User;
+import com.urp.management.domain.entity.UserRole;
+import com.urp.management.domain.enums.ScopeType;
+import com.urp.management.domain.enums.TenantStatus;
+import com.urp.management.domain.enums.UserStatus;
+import com.urp.management.repository.PermissionRepository;
+import com.urp.management.repository.RoleRepository;
+import com.urp.management.repository.TenantRepository;
+import com.urp.management.repository.UserRepository;
+import com.urp.management.repository.UserRoleRepository;
+import com.urp.management.support.TestTokens;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestTokens.class)
+class TenantScopedAdminAccessTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private TenantRepository tenantRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private RoleRepository roleRepository;
+    
+    @Autowired
+    private PermissionRepository permissionRepository;
+    
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+    
+    @Autowired
+    private CompiledAuthorizationModel authorizationModel;
+    
+    @Autowired
+    private ScopedPermissionIndex scopedPermissionIndex;
+    
+    @Autowired
+    private TestTokens testTokens;
+    
+    private Tenant tenant;
+    private Tenant otherTenant;
+    private Role reader;
+    private String token;
+    
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        tenant = tenantRepository.save(Tenant.builder()
+                .name("Scoped " + suffix).slug("scoped-" + suffix).status(TenantStatus.ACTIVE).build());
+        otherTenant = tenantRepository.save(Tenant.builder()
+                .name("Other " + suffix).slug("other-" + suffix).status(TenantStatus.ACTIVE).build());
+        
+        Permission usersRead = permissionRepository.findByKey("users.read").orElseThrow();
+        reader = roleRepository.save(Role.builder()
+                .name("Tenant Reader " + suffix)
+                .isSystem(false)
+                .permissions(Set.of(usersRead))
+                .build());
+        authorizationModel.rebuild();
+        
+        token = testTokens.bearer(userWithReaderGrant("reader-" + suffix, ScopeType.TENANT, tenant.getId().toString()).getEmail());
+    }
+    
+    @Test
+    void tenantScopedReaderListsUsersOfTheirTenant() throws Exception {
+        mockMvc.perform(get("/api/admin/users")
+                        .param("tenantId", tenant.getId().toString())
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void tenantScopedReaderIsDeniedOtherTenantsAndGlobalEndpoints() throws Exception {
+        mockMvc.perform(get("/api/admin/users")
+                        .param("tenantId", otherTenant.getId().toString())
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/users")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/dashboard/stats")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isForbidden());
+    }
+    
+    @Test
+    void projectScopedReaderIsDenied() throws Exception {
+        User projectReader = userWithReaderGrant("project-reader-" + System.nanoTime(), ScopeType.PROJECT, "project-1");
+        String projectToken = testTokens.bearer(projectReader.getEmail());
+        
+        assertThat(scopedPermissionIndex.hasTenantGrants(projectReader.getId())).isFalse();
+        mockMvc.perform(get("/api/admin/users")
+                        .param("tenantId", tenant.getId().toString())
+                        .header(HttpHeaders.AUTHORIZATION, projectToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/users")
+                        .header(HttpHeaders.AUTHORIZATION, projectToken))
+                .andExpect(status().isForbidden());
+    }
+    
+    private User userWithReaderGrant(String name, ScopeType scopeType, String scopeId) {
+        User user = userRepository.save(User.builder()
+                .tenant(tenant)
+                .email(name + "@example.com")
+                .username(name)
+                .passwordHash("{noop}unused")
+                .status(UserStatus.ACTIVE)
+                .emailVerified(false)
+                .phoneVerified(false)
+                .mfaEnabled(false)
+                .build());
+        userRoleRepository.save(UserRole.builder()
+                .user(user)
+                .role(reader)
+                .scopeType(scopeType)
+                .scopeId(scopeId)
+                .build());
+        return user;
+    }
+}
@@ -0,0 +1,127 @@
+package com.urp.management.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urp.management.domain.enums.UserStatus;
+import com.urp.management.repository.RoleRepository;
+import com.urp.management.support.StatementCounter;
+import com.urp.management.support.TestTokens;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Mutating endpoints read the acting user from the security principal, so none of them looks the
+ * actor up. The counts are the Hibernate statements the request thread prepares, with the token
+ * already authenticated; the audit writer's own statements run on its thread and are not counted.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({StatementCounter.class, TestTokens.class})
+class MutatingEndpointStatementCountTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private StatementCounter statementCounter;
+    
+    @Autowired
+    private TestTokens testTokens;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private RoleRepository roleRepository;
+    
+    private String token;
+    
+    @BeforeEach
+    void setUp() {
+        token = testTokens.bearer(TestTokens.ADMIN_EMAIL);
+    }
+    
+    @Test
+    void createUser() throws Exception {
+        String suffix = String.valueOf(System.nanoTime());
+        long statements = count(post("/api/admin/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"created-" + suffix + "@example.com\",\"username\":\"created-" + suffix
+                        + "\",\"password\":\"Passw0rd!\",\"displayName\":\"Created\"}"), 201);
+        
+        assertThat(statements).isEqualTo(5);
+    }
+    
+    @Test
+    void assignRole() throws Exception {
+        Long userId = createUser("assign");
+        Long roleId = roleRepository.findByName("Auditor").orElseThrow().getId();
+        long statements = count(post("/api/admin/users/" + userId + "/roles")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"roleId\":" + roleId + ",\"scopeType\":\"GLOBAL\"}"), 201);
+        
+        assertThat(statements).isEqualTo(6);
+    }
+    
+    @Test
+    void updateStatus() throws Exception {
+        Long userId = createUser("status");
+        long statements = count(patch("/api/admin/users/" + userId + "/status")
+                .param("status", UserStatus.SUSPENDED.name()), 200);
+        
+        assertThat(statements).isEqualTo(4);
+    }
+    
+    @Test
+    void createRole() throws Exception {
+        long statements = count(post("/api/admin/roles")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Counted " + System.nanoTime() + "\",\"description\":\"x\"}"), 201);
+        
+        assertThat(statements).isEqualTo(2);
+    }
+    
+    private long count(MockHttpServletRequestBuilder request, int expectedStatus) throws Exception {
+        // Authenticates the token outside the counted request
+        mockMvc.perform(get("/api/permissions").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+        
+        AtomicReference<Integer> actualStatus = new AtomicReference<>();
+        long statements = statementCounter.count(() -> actualStatus.set(mockMvc
+                .perform(request.header(HttpHeaders.AUTHORIZATION, token))
+                .andReturn().getResponse().getStatus()));
+        assertThat(actualStatus.get()).isEqualTo(expectedStatus);
+        return statements;
+    }
+    
+    private Long createUser(String prefix) throws Exception {
+        String suffix = String.valueOf(System.nanoTime());
+        String body = mockMvc.perform(post("/api/admin/users")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + prefix + "-" + suffix + "@example.com\",\"username\":\""
+                                + prefix + "-" + suffix + "\",\"password\":\"Passw0rd!\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode user = objectMapper.readTree(body);
+        return user.get("id").asLong();
+    }
+}
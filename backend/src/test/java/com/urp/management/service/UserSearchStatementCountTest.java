@@ -0,0 +1,131 @@
+package com.urp.management.service;
+
+import com.urp.management.domain.entity.Role;
+import com.urp.management.domain.entity.Tenant;
+import com.urp.management.domain.entity.User;
+import com.urp.management.domain.entity.UserRole;
+import com.urp.management.domain.enums.ScopeType;
+import com.urp.management.domain.enums.TenantStatus;
+import com.urp.management.domain.enums.UserStatus;
+import com.urp.management.repository.RoleRepository;
+import com.urp.management.repository.TenantRepository;
+import com.urp.management.repository.UserRepository;
+import com.urp.management.repository.UserRoleRepository;
+import com.urp.management.support.StatementCounter;
+import com.urp.management.support.TestTokens;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A page of the user listing costs the same number of statements whatever its size: the page
+ * query with tenants joined, the count query and one query for the grants of the page.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({StatementCounter.class, TestTokens.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserSearchStatementCountTest {
+    
+    private static final int USERS = 150;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private StatementCounter statementCounter;
+    
+    @Autowired
+    private TestTokens testTokens;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+    
+    @Autowired
+    private RoleRepository roleRepository;
+    
+    @Autowired
+    private TenantRepository tenantRepository;
+    
+    private String token;
+    private Tenant tenant;
+    
+    @BeforeAll
+    void seedUsers() {
+        tenant = tenantRepository.save(Tenant.builder()
+                .name("Search Tenant").slug("search-tenant").status(TenantStatus.ACTIVE).build());
+        User admin = userRepository.findByEmail(TestTokens.ADMIN_EMAIL).orElseThrow();
+        Role userRole = roleRepository.findByName("User").orElseThrow();
+        Role auditor = roleRepository.findByName("Auditor").orElseThrow();
+        
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .tenant(i % 2 == 0 ? tenant : null)
+                    .email("search-" + i + "@example.com")
+                    .username("search-" + i)
+                    .displayName("Search User " + i)
+                    .passwordHash("{noop}unused")
+                    .status(UserStatus.ACTIVE)
+                    .emailVerified(false)
+                    .phoneVerified(false)
+                    .mfaEnabled(false)
+                    .build());
+        }
+        userRepository.saveAll(users);
+        
+        List<UserRole> grants = new ArrayList<>();
+        for (User user : users) {
+            grants.add(UserRole.builder().user(user).role(userRole)
+                    .scopeType(ScopeType.GLOBAL).grantedBy(admin).build());
+            grants.add(UserRole.builder().user(user).role(auditor)
+                    .scopeType(ScopeType.TENANT).scopeId(tenant.getId().toString()).grantedBy(admin).build());
+        }
+        userRoleRepository.saveAll(grants);
+        
+        token = testTokens.bearer(TestTokens.ADMIN_EMAIL);
+    }
+    
+    @Test
+    void statementsPerPageDoNotGrowWithPageSize() throws Exception {
+        long small = statementsForPage(20);
+        long large = statementsForPage(100);
+        
+        assertThat(small).isLessThanOrEqualTo(3);
+        assertThat(large).isEqualTo(small);
+    }
+    
+    private long statementsForPage(int size) throws Exception {
+        // The first request of a token authenticates it; only the listing itself is counted
+        mockMvc.perform(get("/api/admin/users").param("size", "1").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+        
+        // Other test classes share the database, so the listing is narrowed to the seeded users
+        return statementCounter.count(() -> mockMvc.perform(get("/api/admin/users")
+                        .param("query", "search-")
+                        .param("size", String.valueOf(size))
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(size))
+                .andExpect(jsonPath("$.content[1].roles.length()").value(2)));
+    }
+}
@@ -0,0 +1,39 @@
+package com.urp.management.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the JDBC statements Hibernate prepares on the calling thread while an action runs; the
+ * test profile registers this class as the session factory's statement inspector. Statements of
+ * other threads, such as the audit writer's listeners, and statements issued through
+ * {@code JdbcTemplate} are not seen.
+ */
+public class StatementCounter implements StatementInspector {
+    
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+    
+    public long count(Action action) throws Exception {
+        long[] count = new long[1];
+        COUNT.set(count);
+        try {
+            action.run();
+        } finally {
+            COUNT.remove();
+        }
+        return count[0];
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        long[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+    
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
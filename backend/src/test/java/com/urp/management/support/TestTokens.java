@@ -0,0 +1,24 @@
+package com.urp.management.support;
+
+import com.urp.management.security.CustomUserDetailsService;
+import com.urp.management.security.JwtTokenProvider;
+
+/**
+ * Issues access tokens for seeded users without going through the login endpoint.
+ */
+public class TestTokens {
+    
+    public static final String ADMIN_EMAIL = "admin@urp.com";
+    
+    private final CustomUserDetailsService userDetailsService;
+    private final JwtTokenProvider tokenProvider;
+    
+    public TestTokens(CustomUserDetailsService userDetailsService, JwtTokenProvider tokenProvider) {
+        this.userDetailsService = userDetailsService;
+        this.tokenProvider = tokenProvider;
+    }
+    
+    public String bearer(String email) {
+        return "Bearer " + tokenProvider.generateToken(userDetailsService.loadUserByUsername(email));
+    }
+}
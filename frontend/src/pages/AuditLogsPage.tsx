@@ -1,7 +1,8 @@
-import { useState } from 'react';
-import { useQuery } from '@tanstack/react-query';
+import { useEffect, useRef, useState } from 'react';
+import { useInfiniteQuery } from '@tanstack/react-query';
 import { auditApi } from '@/services/auditService';
-import { Filter, Download } from 'lucide-react';
+import { AuditLog } from '@/types';
+import { Filter, Download, Radio } from 'lucide-react';
 import { Button } from '@/components/ui/button';
 import { Card, CardContent, CardHeader, CardTitle } from '@/components/ui/card';
 import { Badge } from '@/components/ui/badge';
@@ -15,22 +16,65 @@ import {
 } from '@/components/ui/select';
 
 export default function AuditLogsPage() {
-  const [page, setPage] = useState(0);
   const [filters, setFilters] = useState({
     action: '',
     targetType: '',
   });
+  const sentinelRef = useRef<HTMLDivElement>(null);
+  const [live, setLive] = useState(false);
+  const [liveLogs, setLiveLogs] = useState<AuditLog[]>([]);
 
-  const { data, isLoading } = useQuery({
-    queryKey: ['audit-logs', filters, page],
-    queryFn: () => {
-      const params: any = { page, size: 20 };
+  const { data, isLoading, hasNextPage, isFetchingNextPage, fetchNextPage } = useInfiniteQuery({
+    queryKey: ['audit-logs', filters],
+    queryFn: ({ pageParam }) => {
+      const params: any = { size: 50 };
+      if (pageParam) params.cursor = pageParam;
       if (filters.action) params.action = filters.action;
       if (filters.targetType) params.targetType = filters.targetType;
-      return auditApi.searchAuditLogs(params);
+      return auditApi.scrollAuditLogs(params);
     },
+    initialPageParam: undefined as string | undefined,
+    getNextPageParam: (lastPage) => (lastPage.hasMore ? lastPage.nextCursor : undefined),
   });
 
+  const liveIds = new Set(liveLogs.map((log) => log.id));
+  const logs = [
+    ...liveLogs,
+    ...(data?.pages.flatMap((page) => page.content) ?? []).filter((log) => !liveIds.has(log.id)),
+  ];
+
+  // New events are pushed by the server instead of re-running the search
+  useEffect(() => {
+    setLiveLogs([]);
+    if (!live) return;
+
+    const controller = new AbortController();
+    auditApi
+      .streamAuditLogs(
+        { action: filters.action, targetType: filters.targetType },
+        (log) => setLiveLogs((current) => [log, ...current].slice(0, 500)),
+        controller.signal
+      )
+      .catch(() => {
+        if (!controller.signal.aborted) setLive(false);
+      });
+    return () => controller.abort();
+  }, [live, filters]);
+
+  // Load the next page as soon as the end of the table scrolls into view
+  useEffect(() => {
+    const sentinel = sentinelRef.current;
+    if (!sentinel || !hasNextPage) return;
+
+    const observer = new IntersectionObserver((entries) => {
+      if (entries[0].isIntersecting && !isFetchingNextPage) {
+        fetchNextPage();
+      }
+    });
+    observer.observe(sentinel);
+    return () => observer.disconnect();
+  }, [hasNextPage, isFetchingNextPage, fetchNextPage]);
+
   return (
     <div className="space-y-6">
       <div className="flex flex-col gap-2 sm:flex-row sm:items-center sm:justify-between">
@@ -39,10 +83,20 @@ export default function AuditLogsPage() {
           <h1 className="text-3xl font-semibold">Audit Logs</h1>
           <p className="text-muted-foreground">Track all system activities and changes.</p>
         </div>
-        <Button variant="secondary" className="flex items-center gap-2">
-          <Download className="h-4 w-4" />
-          Export
-        </Button>
+        <div className="flex gap-2">
+          <Button
+            variant={live ? 'default' : 'secondary'}
+            className="flex items-center gap-2"
+            onClick={() => setLive(!live)}
+          >
+            <Radio className="h-4 w-4" />
+            {live ? 'Live' : 'Go Live'}
+          </Button>
+          <Button variant="secondary" className="flex items-center gap-2">
+            <Download className="h-4 w-4" />
+            Export
+          </Button>
+        </div>
       </div>
 
       <Card className="border border-border/70">
@@ -108,7 +162,7 @@ export default function AuditLogsPage() {
                   </TableRow>
                 </TableHeader>
                 <TableBody>
-                  {data?.content.map((log) => (
+                  {logs.map((log) => (
                     <TableRow key={log.id}>
                       <TableCell className="text-foreground">
                         {new Date(log.createdAt).toLocaleString()}
@@ -138,13 +192,16 @@ export default function AuditLogsPage() {
             </CardContent>
           </Card>
 
-          {data && !data.last && (
+          <div ref={sentinelRef} />
+
+          {hasNextPage && (
             <div className="mt-6 flex justify-center">
               <Button
-                onClick={() => setPage(page + 1)}
+                onClick={() => fetchNextPage()}
                 variant="secondary"
+                disabled={isFetchingNextPage}
               >
-                Load More
+                {isFetchingNextPage ? 'Loading...' : 'Load More'}
               </Button>
             </div>
           )}
@@ -1,5 +1,5 @@
 import { useState } from 'react';
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { useInfiniteQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import { Link } from 'react-router-dom';
 import { tenantApi } from '@/services/tenantService';
 import { TenantStatus } from '@/types';
@@ -22,15 +22,20 @@ import TenantFormDialog from '@/components/TenantFormDialog';
 export default function TenantsPage() {
   const [query, setQuery] = useState('');
   const [status, setStatus] = useState<TenantStatus | undefined>();
-  const [page, setPage] = useState(0);
   const [isCreateDialogOpen, setIsCreateDialogOpen] = useState(false);
   const queryClient = useQueryClient();
 
-  const { data, isLoading } = useQuery({
-    queryKey: ['tenants', query, status, page],
-    queryFn: () => tenantApi.searchTenants({ query, status, page, size: 20 }),
+  const { data, isLoading, hasNextPage, isFetchingNextPage, fetchNextPage } = useInfiniteQuery({
+    queryKey: ['tenants', query, status],
+    queryFn: ({ pageParam }) =>
+      tenantApi.scrollTenants({ query: query || undefined, status, cursor: pageParam, size: 20 }),
+    initialPageParam: undefined as string | undefined,
+    getNextPageParam: (lastPage) => (lastPage.hasMore ? lastPage.nextCursor : undefined),
   });
 
+  const tenants = data?.pages.flatMap((page) => page.content) ?? [];
+  const total = data?.pages[0]?.approximateTotal;
+
   const deleteMutation = useMutation({
     mutationFn: (id: number) => tenantApi.deleteTenant(id),
     onSuccess: () => {
@@ -132,7 +137,7 @@ export default function TenantsPage() {
                   </TableRow>
                 </TableHeader>
                 <TableBody>
-                  {data?.content.map((tenant) => (
+                  {tenants.map((tenant) => (
                     <TableRow key={tenant.id}>
                       <TableCell>
                         <div className="flex items-center gap-3">
@@ -173,14 +178,21 @@ export default function TenantsPage() {
             </CardContent>
           </Card>
 
-          {data && !data.last && (
+          {total != null && (
+            <p className="text-center text-sm text-muted-foreground">
+              Showing {tenants.length} of about {total} tenants
+            </p>
+          )}
+
+          {hasNextPage && (
             <div className="flex justify-center">
               <Button
                 variant="secondary"
-                onClick={() => setPage(page + 1)}
+                onClick={() => fetchNextPage()}
+                disabled={isFetchingNextPage}
                 className="mt-4"
               >
-                Load More
+                {isFetchingNextPage ? 'Loading...' : 'Load More'}
               </Button>
             </div>
           )}
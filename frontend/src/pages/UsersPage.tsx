@@ -1,5 +1,5 @@
 import { useState } from 'react';
-import { useQuery } from '@tanstack/react-query';
+import { useInfiniteQuery, useQuery } from '@tanstack/react-query';
 import { Link } from 'react-router-dom';
 import { userApi } from '@/services/userService';
 import { UserStatus } from '@/types';
@@ -21,13 +21,29 @@ import { cn } from '@/lib/utils';
 export default function UsersPage() {
   const [query, setQuery] = useState('');
   const [status, setStatus] = useState<UserStatus | undefined>();
-  const [page, setPage] = useState(0);
 
-  const { data, isLoading } = useQuery({
-    queryKey: ['users', query, status, page],
-    queryFn: () => userApi.searchUsers({ query, status, page, size: 20 }),
+  const searchTerm = query.trim();
+
+  const { data, isLoading, hasNextPage, isFetchingNextPage, fetchNextPage } = useInfiniteQuery({
+    queryKey: ['users', status],
+    queryFn: ({ pageParam }) => userApi.scrollUsers({ status, cursor: pageParam, size: 20 }),
+    initialPageParam: undefined as string | undefined,
+    getNextPageParam: (lastPage) => (lastPage.hasMore ? lastPage.nextCursor : undefined),
+    enabled: !searchTerm,
+  });
+
+  // Typing in the search box switches to the ranked lookup
+  const { data: searchResults, isLoading: isSearching } = useQuery({
+    queryKey: ['users-search', searchTerm, status],
+    queryFn: () => userApi.lookupUsers({ query: searchTerm, status, limit: 50 }),
+    enabled: !!searchTerm,
   });
 
+  const users = searchTerm
+    ? searchResults ?? []
+    : data?.pages.flatMap((page) => page.content) ?? [];
+  const total = searchTerm ? undefined : data?.pages[0]?.approximateTotal;
+
   const getStatusBadge = (status: UserStatus) => {
     const colors: Record<UserStatus, string> = {
       [UserStatus.ACTIVE]: 'bg-green-100 text-green-700',
@@ -104,7 +120,7 @@ export default function UsersPage() {
         </CardContent>
       </Card>
 
-      {isLoading ? (
+      {isLoading || isSearching ? (
         <Card className="text-center border border-border/70 py-12">
           <p className="text-muted-foreground">Loading users...</p>
         </Card>
@@ -123,7 +139,7 @@ export default function UsersPage() {
                   </TableRow>
                 </TableHeader>
                 <TableBody>
-                  {data?.content.map((user) => (
+                  {users.map((user) => (
                     <TableRow key={user.id}>
                       <TableCell>
                         <div className="flex items-center gap-3">
@@ -161,14 +177,21 @@ export default function UsersPage() {
             </CardContent>
           </Card>
 
-          {data && !data.last && (
+          {total != null && (
+            <p className="text-center text-sm text-muted-foreground">
+              Showing {users.length} of about {total} users
+            </p>
+          )}
+
+          {!searchTerm && hasNextPage && (
             <div className="flex justify-center">
               <Button
                 variant="secondary"
-                onClick={() => setPage(page + 1)}
+                onClick={() => fetchNextPage()}
+                disabled={isFetchingNextPage}
                 className="mt-4"
               >
-                Load More
+                {isFetchingNextPage ? 'Loading...' : 'Load More'}
               </Button>
             </div>
           )}
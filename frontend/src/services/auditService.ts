@@ -1,5 +1,5 @@
 import api from '@/lib/api';
-import { AuditLog, PageResponse } from '@/types';
+import { AuditLog, CursorPageResponse, PageResponse } from '@/types';
 
 export const auditApi = {
   searchAuditLogs: async (params: {
@@ -15,4 +15,61 @@ export const auditApi = {
     const response = await api.get('/admin/audit-logs', { params });
     return response.data;
   },
+
+  scrollAuditLogs: async (params: {
+    actorUserId?: number;
+    action?: string;
+    targetType?: string;
+    targetId?: string;
+    from?: string;
+    to?: string;
+    cursor?: string;
+    size?: number;
+  }): Promise<CursorPageResponse<AuditLog>> => {
+    const response = await api.get('/admin/audit-logs/cursor', { params });
+    return response.data;
+  },
+
+  // EventSource cannot send the bearer token, so the SSE stream is read through fetch
+  streamAuditLogs: async (
+    params: { action?: string; targetType?: string; tenantId?: number },
+    onEvent: (log: AuditLog) => void,
+    signal: AbortSignal
+  ): Promise<void> => {
+    const query = new URLSearchParams();
+    Object.entries(params).forEach(([key, value]) => {
+      if (value !== undefined && value !== '') query.append(key, String(value));
+    });
+
+    const response = await fetch(`/api/admin/audit-logs/stream?${query}`, {
+      headers: {
+        Accept: 'text/event-stream',
+        Authorization: `Bearer ${localStorage.getItem('accessToken') ?? ''}`,
+      },
+      signal,
+    });
+    if (!response.ok || !response.body) {
+      throw new Error(`Audit stream failed with status ${response.status}`);
+    }
+
+    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) return;
+      buffer += value;
+
+      let boundary;
+      while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+        const message = buffer.slice(0, boundary);
+        buffer = buffer.slice(boundary + 2);
+        const data = message
+          .split('\n')
+          .filter((line) => line.startsWith('data:'))
+          .map((line) => line.slice(5))
+          .join('\n');
+        if (data) onEvent(JSON.parse(data));
+      }
+    }
+  },
 };
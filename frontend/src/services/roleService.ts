@@ -1,5 +1,12 @@
 import api from '@/lib/api';
-import { Role, CreateRoleRequest, UpdateRoleRequest, Permission } from '@/types';
+import {
+  Role,
+  CreateRoleRequest,
+  UpdateRoleRequest,
+  Permission,
+  BatchRoleAssignmentRequest,
+  BatchRoleAssignmentResponse,
+} from '@/types';
 
 export const roleApi = {
   getAllRoles: async (): Promise<Role[]> => {
@@ -30,6 +37,22 @@ export const roleApi = {
     return response.data;
   },
   
+  assignRoleBatch: async (
+    id: number,
+    data: BatchRoleAssignmentRequest
+  ): Promise<BatchRoleAssignmentResponse> => {
+    const response = await api.post(`/admin/roles/${id}/assignments:batch`, data);
+    return response.data;
+  },
+  
+  revokeRoleBatch: async (
+    id: number,
+    data: BatchRoleAssignmentRequest
+  ): Promise<BatchRoleAssignmentResponse> => {
+    const response = await api.post(`/admin/roles/${id}/assignments:batchRevoke`, data);
+    return response.data;
+  },
+  
   deleteRole: async (id: number): Promise<void> => {
     await api.delete(`/admin/roles/${id}`);
   },
@@ -5,6 +5,7 @@ import {
   UpdateTenantRequest,
   TenantStatus,
   PageResponse,
+  CursorPageResponse,
   User,
 } from '@/types';
 
@@ -19,6 +20,16 @@ export const tenantApi = {
     return response.data;
   },
   
+  scrollTenants: async (params: {
+    query?: string;
+    status?: TenantStatus;
+    cursor?: string;
+    size?: number;
+  }): Promise<CursorPageResponse<Tenant>> => {
+    const response = await api.get('/admin/tenants/cursor', { params });
+    return response.data;
+  },
+  
   getTenantById: async (id: number): Promise<Tenant> => {
     const response = await api.get(`/admin/tenants/${id}`);
     return response.data;
@@ -8,8 +8,11 @@ import {
   UserRole,
   UserStatus,
   PageResponse,
+  CursorPageResponse,
   UpdateUserProfileRequest,
   UpdatePasswordRequest,
+  BulkUserLifecycleRequest,
+  UserLifecycleJob,
 } from '@/types';
 
 export const authApi = {
@@ -35,6 +38,27 @@ export const userApi = {
     return response.data;
   },
   
+  scrollUsers: async (params: {
+    query?: string;
+    status?: UserStatus;
+    tenantId?: number;
+    cursor?: string;
+    size?: number;
+  }): Promise<CursorPageResponse<User>> => {
+    const response = await api.get('/admin/users/cursor', { params });
+    return response.data;
+  },
+  
+  lookupUsers: async (params: {
+    query: string;
+    status?: UserStatus;
+    tenantId?: number;
+    limit?: number;
+  }): Promise<User[]> => {
+    const response = await api.get('/admin/users/search', { params });
+    return response.data;
+  },
+  
   getUserById: async (id: number): Promise<User> => {
     const response = await api.get(`/admin/users/${id}`);
     return response.data;
@@ -63,6 +87,18 @@ export const userApi = {
     return response.data;
   },
   
+  startLifecycleJob: async (
+    data: BulkUserLifecycleRequest
+  ): Promise<UserLifecycleJob> => {
+    const response = await api.post('/admin/users/lifecycle-jobs', data);
+    return response.data;
+  },
+  
+  getLifecycleJob: async (jobId: string): Promise<UserLifecycleJob> => {
+    const response = await api.get(`/admin/users/lifecycle-jobs/${jobId}`);
+    return response.data;
+  },
+  
   assignRole: async (
     userId: number,
     data: AssignRoleRequest
@@ -112,11 +112,14 @@ export interface DashboardStats {
   activeUsers: number;
   activeRoles: number;
   totalAuditLogs: number;
+  usersByStatus: Partial<Record<UserStatus, number>>;
+  usersByTenant: Record<number, number>;
 }
 
 export interface RecentActivity {
   id: number;
   action: string;
+  targetType?: string;
   description: string;
   timestamp: string;
   actorEmail: string;
@@ -129,6 +132,20 @@ export interface AssignRoleRequest {
   expiresAt?: string;
 }
 
+export interface BatchRoleAssignmentRequest {
+  userIds: number[];
+  scopeType: ScopeType;
+  scopeId?: string;
+  expiresAt?: string;
+}
+
+export interface BatchRoleAssignmentResponse {
+  roleId: number;
+  requested: number;
+  applied: number;
+  skipped: number;
+}
+
 export interface CreateRoleRequest {
   name: string;
   description?: string;
@@ -155,6 +172,13 @@ export interface PageResponse<T> {
   empty: boolean;
 }
 
+export interface CursorPageResponse<T> {
+  content: T[];
+  nextCursor?: string;
+  hasMore: boolean;
+  approximateTotal?: number;
+}
+
 export interface UpdateUserProfileRequest {
   displayName?: string;
   phone?: string;
@@ -172,6 +196,44 @@ export interface AdminResetPasswordRequest {
   newPassword: string;
 }
 
+export enum UserLifecycleAction {
+  SET_STATUS = 'SET_STATUS',
+  BAN = 'BAN',
+  UNBAN = 'UNBAN',
+}
+
+export interface BulkUserLifecycleRequest {
+  action: UserLifecycleAction;
+  userIds?: number[];
+  filter?: {
+    query?: string;
+    status?: UserStatus;
+    tenantId?: number;
+  };
+  targetStatus?: UserStatus;
+  banReason?: string;
+  banExpiresAt?: string;
+  dryRun?: boolean;
+  confirmTotal?: number;
+}
+
+export interface UserLifecycleJob {
+  id: string;
+  action: UserLifecycleAction;
+  targetStatus: UserStatus;
+  state: 'DRY_RUN' | 'QUEUED' | 'RUNNING' | 'COMPLETED' | 'FAILED';
+  total: number;
+  processed: number;
+  updated: number;
+  skipped: number;
+  sessionsRevoked: number;
+  chunks: number;
+  error?: string;
+  createdAt: string;
+  startedAt?: string;
+  finishedAt?: string;
+}
+
 export interface Tenant {
   id: number;
   name: string;